@@ -0,0 +1,15 @@
+package com.assured.annotations;
+
+import com.google.inject.ScopeAnnotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+//Fixture scope: one instance per test class, shared by the threads running its methods: thread-safe objects only. See Fixtures
+@ScopeAnnotation
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ClassScoped {
+}
@@ -0,0 +1,15 @@
+package com.assured.annotations;
+
+import com.google.inject.ScopeAnnotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+//Fixture scope: one instance per test method invocation, from @BeforeMethod to @AfterMethod. See Fixtures
+@ScopeAnnotation
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface TestScoped {
+}
@@ -0,0 +1,257 @@
+package com.assured.config;
+
+import com.assured.helpers.SystemHelpers;
+import com.assured.utils.LogUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ConfigService is the single entry point to the framework configuration. The first read builds an
+ * immutable ConfigSnapshot from the properties files (a missing file is skipped, not fatal), then environment
+ * variables and system properties override the keys the files define. Later reads share that snapshot.
+ * <p>
+ * watch() reloads the snapshot when a properties file changes and swaps it atomically: readers see the old
+ * or the new snapshot, never a mix. Constants in FrameworkConstants are read once; code that should follow
+ * a reload reads ConfigService.get() each time. setValue() applies at once and is written to the file on flush().
+ */
+public final class ConfigService {
+
+    private static final String DEFAULT_FILE = "src/test/resources/config/config.properties";
+    private static final List<String> files = new CopyOnWriteArrayList<>(List.of(
+            DEFAULT_FILE,
+            "src/test/resources/config/data.properties",
+            "src/test/resources/objects/crm_locators.properties"));
+
+    private static final AtomicReference<ConfigSnapshot> snapshot = new AtomicReference<>();
+    //Values set at runtime, the top layer, kept across reloads
+    private static final Map<String, String> runtimeValues = new ConcurrentHashMap<>();
+    //File -> values waiting for flush(); a file's map is only touched inside compute/remove of its key
+    private static final Map<String, Map<String, String>> pendingWrites = new ConcurrentHashMap<>();
+    //Key -> properties file that defines it, as of the last reload; setValue() writes back to that file
+    private static volatile Map<String, String> fileSources = Map.of();
+    private static long version;
+    private static WatchService watchService;
+    private static Thread watcher;
+
+    private ConfigService() {
+    }
+
+    /**
+     * @return the current snapshot, built on first use.
+     */
+    public static ConfigSnapshot get() {
+        ConfigSnapshot current = snapshot.get();
+        return current != null ? current : reload();
+    }
+
+    public static String getString(String key) {
+        return get().getString(key);
+    }
+
+    /**
+     * Rebuilds the snapshot from all layers and swaps it in.
+     */
+    public static synchronized ConfigSnapshot reload() {
+        Map<String, String> values = new HashMap<>();
+        Map<String, String> sources = new HashMap<>();
+        for (String file : files) {
+            Path path = resolve(file);
+            if (!Files.isRegularFile(path)) {
+                LogUtils.debug("Config file not found, skipped: " + file);
+                continue;
+            }
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                LogUtils.warn("Cannot read config file " + file + ": " + e.getMessage());
+                continue;
+            }
+            for (String key : properties.stringPropertyNames()) {
+                values.put(key, properties.getProperty(key));
+                sources.put(key, file);
+            }
+        }
+        fileSources = Map.copyOf(sources);
+        // Environment and system properties only override known keys, so the snapshot is not flooded with PATH & co.
+        for (String key : new ArrayList<>(values.keySet())) {
+            String env = System.getenv(key);
+            if (env != null) {
+                values.put(key, env);
+                sources.put(key, "env");
+            }
+            String system = System.getProperty(key);
+            if (system != null) {
+                values.put(key, system);
+                sources.put(key, "system");
+            }
+        }
+        runtimeValues.forEach((key, value) -> {
+            values.put(key, value);
+            sources.put(key, "runtime");
+        });
+        ConfigSnapshot built = new ConfigSnapshot(values, sources, ++version);
+        snapshot.set(built);
+        LogUtils.info("Loaded configuration v" + built.getVersion() + " (" + values.size() + " keys)");
+        return built;
+    }
+
+    /**
+     * Adds a properties file as the highest file layer and reloads.
+     *
+     * @param relPropertiesFilePath the file path relative to the project folder.
+     */
+    public static void addFile(String relPropertiesFilePath) {
+        files.remove(relPropertiesFilePath);
+        files.add(relPropertiesFilePath);
+        reload();
+    }
+
+    /**
+     * Sets a value for the rest of the run and queues it for the file that defines the key (or config.properties).
+     * The new snapshot is the current one plus the value, without reading the files again; the file is written
+     * once per flush(), whatever the number of values set.
+     */
+    public static synchronized void setValue(String key, String value) {
+        ConfigSnapshot current = get();
+        runtimeValues.put(key, value);
+        String source = fileSources.get(key);
+        String file = source != null && files.contains(source) ? source : DEFAULT_FILE;
+        pendingWrites.compute(file, (k, pending) -> {
+            Map<String, String> updates = pending == null ? new LinkedHashMap<>() : pending;
+            updates.put(key, value);
+            return updates;
+        });
+        snapshot.set(current.with(key, value, "runtime", ++version));
+    }
+
+    /**
+     * Writes the queued values, one rewrite per file. Other lines and comments of the file are kept.
+     */
+    public static synchronized void flush() {
+        for (String file : pendingWrites.keySet()) {
+            Map<String, String> updates = pendingWrites.remove(file);
+            if (updates != null && !updates.isEmpty()) {
+                write(resolve(file), updates);
+            }
+        }
+    }
+
+    /**
+     * Starts reloading the configuration when one of its files changes.
+     */
+    public static synchronized void watch() {
+        if (watcher != null) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            Set<Path> folders = new HashSet<>();
+            for (String file : files) {
+                Path folder = resolve(file).getParent();
+                if (Files.isDirectory(folder) && folders.add(folder)) {
+                    folder.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+                }
+            }
+        } catch (IOException e) {
+            LogUtils.warn("Config hot reload not started: " + e.getMessage());
+            return;
+        }
+        WatchService service = watchService;
+        watcher = new Thread(() -> watchLoop(service), "config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    public static synchronized void stopWatching() {
+        if (watcher == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LogUtils.warn("Cannot stop config watcher: " + e.getMessage());
+        }
+        watcher = null;
+        watchService = null;
+    }
+
+    private static void watchLoop(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                // Editors save in several steps: let them finish, then reload once for the whole burst.
+                Thread.sleep(200);
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Path folder = (Path) key.watchable();
+                    Path changedFile = folder.resolve((Path) event.context());
+                    for (String file : files) {
+                        changed |= resolve(file).equals(changedFile);
+                    }
+                }
+                key.reset();
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // stopWatching()
+        }
+    }
+
+    private static void write(Path path, Map<String, String> updates) {
+        try {
+            List<String> lines = Files.isRegularFile(path) ? Files.readAllLines(path, StandardCharsets.UTF_8) : new ArrayList<>();
+            Map<String, String> remaining = new LinkedHashMap<>(updates);
+            for (int i = 0; i < lines.size(); i++) {
+                Matcher matcher = Pattern.compile("^\\s*([^#!=:\\s]+)\\s*[=:]").matcher(lines.get(i));
+                if (matcher.find() && remaining.containsKey(matcher.group(1))) {
+                    String key = matcher.group(1);
+                    lines.set(i, key + " = " + escape(remaining.remove(key)));
+                }
+            }
+            remaining.forEach((key, value) -> lines.add(key + " = " + escape(value)));
+            Files.createDirectories(path.getParent());
+            Files.write(path, lines, StandardCharsets.UTF_8);
+            LogUtils.info("Saved " + updates.size() + " config value(s) to " + path);
+        } catch (IOException e) {
+            LogUtils.error("Cannot write config file " + path + ": " + e.getMessage());
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static Path resolve(String file) {
+        Path path = Paths.get(file);
+        return path.isAbsolute() ? path : Paths.get(SystemHelpers.getCurrentDir(), file);
+    }
+}
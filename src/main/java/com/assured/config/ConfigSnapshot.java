@@ -0,0 +1,104 @@
+package com.assured.config;
+
+import com.assured.utils.SecretVault;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * ConfigSnapshot is one immutable view of the merged configuration: properties files, then environment
+ * variables, then system properties, then values set at runtime, each layer overriding the previous one.
+ * A snapshot never changes; a reload or setValue() builds a new one and ConfigService swaps it in atomically.
+ */
+public final class ConfigSnapshot {
+
+    private final Map<String, String> values;
+    private final Map<String, String> sources;
+    private final long version;
+
+    ConfigSnapshot(Map<String, String> values, Map<String, String> sources, long version) {
+        this.values = Collections.unmodifiableMap(values);
+        this.sources = Collections.unmodifiableMap(sources);
+        this.version = version;
+    }
+
+    /**
+     * @return the value, trimmed, or null if the key is not configured. A {@code vault:<name>} value
+     * is replaced with the secret from the SecretVault.
+     */
+    public String getString(String key) {
+        String value = values.get(key);
+        return value == null ? null : SecretVault.resolve(value.trim());
+    }
+
+    public String getString(String key, String defaultValue) {
+        String value = getString(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = getString(key);
+        return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = getString(key);
+        return value == null || value.isEmpty() ? defaultValue : Long.parseLong(value);
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = getString(key);
+        return value == null || value.isEmpty() ? defaultValue : Double.parseDouble(value);
+    }
+
+    /**
+     * @return true for "yes" or "true", ignoring case.
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        return value.equalsIgnoreCase("yes") || value.equalsIgnoreCase("true");
+    }
+
+    /**
+     * @return where the value comes from: a properties file path, "env", "system" or "runtime".
+     */
+    public String getSource(String key) {
+        return sources.get(key);
+    }
+
+    /**
+     * @return the number of the reload or setValue() that built this snapshot, 1 for the first load.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return a copy of this snapshot with one value added or replaced.
+     */
+    ConfigSnapshot with(String key, String value, String source, long newVersion) {
+        Map<String, String> newValues = new HashMap<>(values);
+        newValues.put(key, value);
+        Map<String, String> newSources = new HashMap<>(sources);
+        newSources.put(key, source);
+        return new ConfigSnapshot(newValues, newSources, newVersion);
+    }
+
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    /**
+     * @return a copy as Properties, for code that still expects them.
+     */
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        properties.putAll(values);
+        return properties;
+    }
+}
@@ -1,37 +0,0 @@
-package com.assured.config;
-
-import org.aeonbits.owner.Config;
-import org.aeonbits.owner.Config.LoadPolicy;
-import org.aeonbits.owner.Config.LoadType;
-import org.aeonbits.owner.Config.Sources;
-
-@LoadPolicy(LoadType.MERGE)
-@Sources({"system:properties",
-        "system:env",
-        "file:./src/test/resources/config/config.properties",
-        "file:./src/test/resources/config/data.properties"})
-
-public interface Configuration extends Config {
-
-    @Key("TARGET")
-    String TARGET();
-
-    @Key("BROWSER")
-    String BROWSER();
-
-    @Key("HEADLESS")
-    Boolean HEADLESS();
-
-    @Key("URL_STAGING")
-    String URL_STAGING();
-
-    @Key("REMOTE_URL")
-    String REMOTE_URL();
-
-    @Key("REMOTE_PORT")
-    String REMOTE_PORT();
-
-    @Key("EXCEL_DATA_FILE_PATH")
-    String EXCEL_DATA_FILE_PATH();
-
-}
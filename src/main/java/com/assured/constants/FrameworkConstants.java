@@ -12,10 +12,6 @@ public final class FrameworkConstants {
     private FrameworkConstants() {
     }
 
-    static {
-        PropertiesHelpers.loadAllFiles();
-    }
-
     public static final String PROJECT_PATH = SystemHelpers.getCurrentDir();
     public static final String EXCEL_DATA_FILE_PATH = PropertiesHelpers.getValue("EXCEL_DATA_FILE_PATH");
     public static final String JSON_DATA_FILE_PATH = PropertiesHelpers.getValue("JSON_DATA_FILE_PATH");
@@ -34,6 +30,7 @@ public final class FrameworkConstants {
     public static final String EXTENT_REPORT_FOLDER = PropertiesHelpers.getValue("EXTENT_REPORT_FOLDER");
     public static final String EXPORT_VIDEO_PATH = PropertiesHelpers.getValue("EXPORT_VIDEO_PATH");
     public static final String EXPORT_CAPTURE_PATH = PropertiesHelpers.getValue("EXPORT_CAPTURE_PATH");
+    public static final String EXPORT_TRACE_PATH = PropertiesHelpers.getValue("EXPORT_TRACE_PATH");
     public static final String SEND_REPORT_TO_TELEGRAM = PropertiesHelpers.getValue("SEND_REPORT_TO_TELEGRAM");
     public static final String TELEGRAM_TOKEN = PropertiesHelpers.getValue("TELEGRAM_TOKEN");
     public static final String TELEGRAM_CHATID = PropertiesHelpers.getValue("TELEGRAM_CHATID");
@@ -51,9 +48,35 @@ public final class FrameworkConstants {
     public static final String ZIP_FOLDER_PATH = PropertiesHelpers.getValue("ZIP_FOLDER_PATH");
     public static final String ZIP_FOLDER_NAME = PropertiesHelpers.getValue("ZIP_FOLDER_NAME");
     public static final String VIDEO_RECORD = PropertiesHelpers.getValue("VIDEO_RECORD");
+    public static final String TRACE_MODE = PropertiesHelpers.getValue("TRACE_MODE");
 
     public static final String LOCATE = PropertiesHelpers.getValue("LOCATE");
     public static final String RETRY_TEST_FAIL = PropertiesHelpers.getValue("RETRY_TEST_FAIL");
+    public static final String RETRY_BACKOFF_MILLIS = PropertiesHelpers.getValue("RETRY_BACKOFF_MILLIS");
+
+    public static final String SCHEDULE_LONGEST_FIRST = PropertiesHelpers.getValue("SCHEDULE_LONGEST_FIRST");
+    public static final String TEST_HISTORY_PATH = PropertiesHelpers.getValue("TEST_HISTORY_PATH");
+    public static final String QUARANTINE_FLAKY_TESTS = PropertiesHelpers.getValue("QUARANTINE_FLAKY_TESTS");
+    public static final String METRICS_SERVER = PropertiesHelpers.getValue("METRICS_SERVER");
+    public static final String METRICS_PORT = PropertiesHelpers.getValue("METRICS_PORT");
+    public static final String METRICS_EXPORT_PATH = PropertiesHelpers.getValue("METRICS_EXPORT_PATH");
+    public static final String EXCEL_SNAPSHOT = PropertiesHelpers.getValue("EXCEL_SNAPSHOT");
+    public static final String EXCEL_SNAPSHOT_PATH = PropertiesHelpers.getValue("EXCEL_SNAPSHOT_PATH");
+    public static final String EXCEL_FLUSH_SECONDS = PropertiesHelpers.getValue("EXCEL_FLUSH_SECONDS");
+    public static final String CONFIG_HOT_RELOAD = PropertiesHelpers.getValue("CONFIG_HOT_RELOAD");
+    public static final String DATA_POOL_SIZE = PropertiesHelpers.getValue("DATA_POOL_SIZE");
+    public static final String RANDOM_SEED = PropertiesHelpers.getValue("RANDOM_SEED");
+    public static final String REPRODUCIBLE_DATA = PropertiesHelpers.getValue("REPRODUCIBLE_DATA");
+    public static final String ID_NODE = PropertiesHelpers.getValue("ID_NODE");
+    public static final String ID_STATE_PATH = PropertiesHelpers.getValue("ID_STATE_PATH");
+    public static final String DB_URL = PropertiesHelpers.getValue("DB_URL");
+    public static final String DB_USERNAME = PropertiesHelpers.getValue("DB_USERNAME");
+    public static final String DB_PASSWORD = PropertiesHelpers.getValue("DB_PASSWORD");
+    public static final String DB_POOL_SIZE = PropertiesHelpers.getValue("DB_POOL_SIZE");
+    public static final String DB_POOL_TIMEOUT_SECONDS = PropertiesHelpers.getValue("DB_POOL_TIMEOUT_SECONDS");
+    public static final String DB_STATEMENT_CACHE_SIZE = PropertiesHelpers.getValue("DB_STATEMENT_CACHE_SIZE");
+    public static final String DB_BATCH_SIZE = PropertiesHelpers.getValue("DB_BATCH_SIZE");
+    public static final double FLAKY_SCORE_THRESHOLD = Double.parseDouble(PropertiesHelpers.getValue("FLAKY_SCORE_THRESHOLD"));
 
     public static final int WAIT_DEFAULT = Integer.parseInt(PropertiesHelpers.getValue("WAIT_DEFAULT"));
     public static final int WAIT_IMPLICIT = Integer.parseInt(PropertiesHelpers.getValue("WAIT_IMPLICIT"));
@@ -69,6 +92,13 @@ public final class FrameworkConstants {
     //Zip file for Report folder
     public static final String ZIPPED_EXTENT_REPORTS_FOLDER = EXTENT_REPORT_FOLDER + ".zip";
 
+    public static final String CATEGORY_RETRIED = "RETRIED";
+    public static final String CATEGORY_QUARANTINE = "QUARANTINE";
+    public static final String GROUP_QUARANTINE = "quarantine";
+
+    public static final String TRACE_OFF = "off";
+    public static final String TRACE_ON = "on";
+
     public static final String YES = "yes";
     public static final String NO = "no";
 
@@ -0,0 +1,52 @@
+package com.assured.data;
+
+/**
+ * ColumnKey names a column of a data sheet, e.g. {@code SignInModel.EMAIL}. It caches the index it
+ * resolved to in the last SheetSchema it was used with: rows of the same sheet then read the column
+ * without hashing. The cache is a single immutable binding, so sharing a key between threads is safe.
+ */
+public final class ColumnKey {
+
+    private final String name;
+    private volatile Binding binding;
+
+    private ColumnKey(String name) {
+        this.name = name;
+    }
+
+    public static ColumnKey of(String name) {
+        return new ColumnKey(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the index of this column in the schema, or -1 if the schema has no such column.
+     */
+    int indexIn(SheetSchema schema) {
+        Binding current = binding;
+        if (current != null && current.schema == schema) {
+            return current.index;
+        }
+        int index = schema.indexOf(name);
+        binding = new Binding(schema, index);
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static final class Binding {
+        private final SheetSchema schema;
+        private final int index;
+
+        private Binding(SheetSchema schema, int index) {
+            this.schema = schema;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.assured.data;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CsvDataSource reads a UTF-8 RFC 4180 file: comma separated, first record is the header, fields may be
+ * quoted ("" escapes a quote, quoted fields may span lines). Blank lines are skipped.
+ */
+public class CsvDataSource implements TestDataSource {
+
+    @Override
+    public boolean supports(URI uri) {
+        String path = uri.getPath();
+        return path != null && path.toLowerCase().endsWith(".csv");
+    }
+
+    @Override
+    public RecordReader open(URI uri) throws IOException {
+        return new CsvRecordReader(Files.newBufferedReader(TestDataSources.toPath(uri), StandardCharsets.UTF_8));
+    }
+
+    private static final class CsvRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private final String[] header;
+        private final StringBuilder field = new StringBuilder();
+        private int rowNum;
+
+        private CsvRecordReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> first = readRecord();
+            if (first != null && !first.isEmpty() && first.get(0).startsWith("\uFEFF")) {
+                first.set(0, first.get(0).substring(1));
+            }
+            header = first == null ? new String[0] : first.toArray(new String[0]);
+        }
+
+        @Override
+        public String[] getHeader() {
+            return header;
+        }
+
+        @Override
+        public String[] next() throws IOException {
+            List<String> record = readRecord();
+            if (record == null) {
+                return null;
+            }
+            rowNum++;
+            String[] values = new String[header.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = i < record.size() ? record.get(i) : "";
+            }
+            return values;
+        }
+
+        @Override
+        public int getRowNum() {
+            return rowNum;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        //One record, or null at the end of the file
+        private List<String> readRecord() throws IOException {
+            List<String> record = new ArrayList<>();
+            boolean quoted = false;
+            boolean empty = true;
+            field.setLength(0);
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                    continue;
+                }
+                if (c == '"') {
+                    quoted = true;
+                    empty = false;
+                } else if (c == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                    empty = false;
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    if (empty && field.length() == 0) {
+                        continue;
+                    }
+                    break;
+                } else {
+                    field.append((char) c);
+                    empty = false;
+                }
+            }
+            if (c == -1 && empty && field.length() == 0) {
+                return null;
+            }
+            record.add(field.toString());
+            return record;
+        }
+    }
+}
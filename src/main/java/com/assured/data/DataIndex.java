@@ -0,0 +1,103 @@
+package com.assured.data;
+
+import com.assured.utils.LogUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DataIndex is the secondary index of the cached records of one data source: for each column used in a
+ * where/whereTag condition, a hash map from value (or tag) to the sorted positions of the records holding it.
+ * A column is indexed on its first query and reused until the source changes, so a lookup is O(1) and a
+ * query with several conditions intersects the posting lists, smallest first.
+ */
+final class DataIndex {
+
+    private static final int[] NONE = new int[0];
+
+    private final String name;
+    private final SheetSchema schema;
+    private final List<String[]> records;
+    private final Map<String, Map<String, int[]>> postings = new ConcurrentHashMap<>();
+
+    DataIndex(String name, String[] header, List<String[]> records) {
+        this.name = name;
+        this.schema = SheetSchema.of(name, header);
+        this.records = records;
+    }
+
+    /**
+     * @return the sorted positions of the records matching every condition, or null if there is no condition.
+     */
+    int[] select(List<DataQuery.Condition> conditions) {
+        if (conditions.isEmpty()) {
+            return null;
+        }
+        int[][] lists = new int[conditions.size()][];
+        for (int i = 0; i < lists.length; i++) {
+            DataQuery.Condition condition = conditions.get(i);
+            int[] list = getPostings(condition.column, condition.tag).get(condition.value);
+            lists[i] = list == null ? NONE : list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+        int[] result = lists[0];
+        for (int i = 1; i < lists.length && result.length > 0; i++) {
+            result = intersect(result, lists[i]);
+        }
+        return result;
+    }
+
+    private Map<String, int[]> getPostings(String column, boolean tag) {
+        return postings.computeIfAbsent((tag ? "~" : "=") + column, key -> build(column, tag));
+    }
+
+    private Map<String, int[]> build(String column, boolean tag) {
+        long start = System.nanoTime();
+        int index = schema.indexOf(column);
+        Map<String, List<Integer>> lists = new HashMap<>();
+        if (index >= 0) {
+            for (int position = 0; position < records.size(); position++) {
+                String cell = records.get(position)[index];
+                if (!tag) {
+                    lists.computeIfAbsent(cell, value -> new ArrayList<>()).add(position);
+                    continue;
+                }
+                for (String token : DataQuery.Condition.tokens(cell)) {
+                    List<Integer> list = lists.computeIfAbsent(token, value -> new ArrayList<>());
+                    // A tag repeated in one cell is listed once.
+                    if (list.isEmpty() || list.get(list.size() - 1) != position) {
+                        list.add(position);
+                    }
+                }
+            }
+        }
+        Map<String, int[]> result = new HashMap<>();
+        lists.forEach((value, list) -> result.put(value, list.stream().mapToInt(Integer::intValue).toArray()));
+        LogUtils.info("Indexed column '" + column + "' of '" + name + "' (" + result.size() + " values, "
+                + records.size() + " rows) in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+}
@@ -0,0 +1,302 @@
+package com.assured.data;
+
+import com.assured.utils.LogUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * DataQuery selects the rows and columns a data provider reads from a TestDataSource:
+ * a row range, column conditions, a filter, a projection, a shard and a limit. It is applied while the reader
+ * streams the records, so skipped records are never materialised and the file is closed as soon as the range
+ * or limit ends. Queries with where/whereTag conditions are answered from the in-memory DataIndex of the
+ * source (see TestDataSources), so selecting rows by meaning costs a hash lookup, not a scan.
+ * <pre>
+ * DataQuery.all().where("Role", "Admin").whereTag("Tags", "smoke").limit(50)
+ * DataQuery.all().rows(2, 6).select("EMAIL", "PASSWORD").filter(row -&gt; !row.get("EMAIL").isEmpty())
+ * </pre>
+ */
+public final class DataQuery {
+
+    private int firstRow = 1;
+    private int lastRow = Integer.MAX_VALUE;
+    private int limit = Integer.MAX_VALUE;
+    private int shardIndex;
+    private int shardCount = 1;
+    private final List<Condition> conditions = new ArrayList<>();
+    private String[] columns;
+    private Predicate<DataRow> filter;
+    private Class<?> model;
+    private boolean cached;
+
+    private DataQuery() {
+    }
+
+    /**
+     * @return a query of every data row (row 1 to the end), all columns.
+     */
+    public static DataQuery all() {
+        return new DataQuery();
+    }
+
+    /**
+     * Restricts the query to rows firstRow..lastRow, both included; the header is row 0.
+     */
+    public DataQuery rows(int firstRow, int lastRow) {
+        this.firstRow = Math.max(1, firstRow);
+        this.lastRow = lastRow;
+        return this;
+    }
+
+    /**
+     * Keeps only these columns, in this order; unknown columns read as null.
+     */
+    public DataQuery select(String... columns) {
+        this.columns = columns.clone();
+        return this;
+    }
+
+    /**
+     * Keeps the rows matching the predicate, evaluated on all columns before the projection.
+     */
+    public DataQuery filter(Predicate<DataRow> filter) {
+        this.filter = this.filter == null ? filter : this.filter.and(filter);
+        return this;
+    }
+
+    /**
+     * Keeps the rows whose column equals the value.
+     */
+    public DataQuery where(String column, String value) {
+        conditions.add(new Condition(column, value, false));
+        return this;
+    }
+
+    /**
+     * Keeps the rows whose column, a list separated by commas, semicolons or spaces, contains the tag.
+     */
+    public DataQuery whereTag(String column, String tag) {
+        conditions.add(new Condition(column, tag, true));
+        return this;
+    }
+
+    /**
+     * Keeps every count-th selected row starting at index (0-based), so parallel shards of a suite
+     * read disjoint slices of the same data. Applied before the limit.
+     */
+    public DataQuery shard(int index, int count) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + "/" + count);
+        }
+        this.shardIndex = index;
+        this.shardCount = count;
+        return this;
+    }
+
+    public DataQuery limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Checks the ColumnKeys of a model class against the header, see SheetSchema.bind.
+     */
+    public DataQuery bind(Class<?> model) {
+        this.model = model;
+        return this;
+    }
+
+    /**
+     * Reads the whole source once and serves this and later cached queries of it from memory,
+     * until the file changes. Meant for small, often-read sources; large ones should stream.
+     * Queries with where/whereTag conditions are always served from the cached records and their DataIndex.
+     */
+    public DataQuery cached() {
+        this.cached = true;
+        return this;
+    }
+
+    public boolean isCached() {
+        return cached;
+    }
+
+    List<Condition> getConditions() {
+        return Collections.unmodifiableList(conditions);
+    }
+
+    /**
+     * Applies the query to a reader. The reader is closed when the rows are exhausted.
+     *
+     * @param reader the open reader.
+     * @param name   a name for the schema, e.g. the sheet or file name.
+     * @return the selected rows, read lazily.
+     */
+    public Iterator<DataRow> apply(RecordReader reader, String name) {
+        String[] header = reader.getHeader();
+        SheetSchema schema = SheetSchema.of(name, header);
+        SheetSchema projected = schema;
+        int[] projection = null;
+        if (columns != null) {
+            projected = SheetSchema.of(name, columns);
+            projection = new int[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                projection[i] = schema.indexOf(columns[i]);
+            }
+        }
+        if (model != null) {
+            projected.bind(model);
+        }
+        int[] conditionColumns = new int[conditions.size()];
+        for (int i = 0; i < conditionColumns.length; i++) {
+            conditionColumns[i] = schema.indexOf(conditions.get(i).column);
+        }
+        return new QueryIterator(reader, schema, projected, projection, conditionColumns);
+    }
+
+    private final class QueryIterator implements Iterator<DataRow> {
+        private final RecordReader reader;
+        private final SheetSchema schema;
+        private final SheetSchema projected;
+        private final int[] projection;
+        private final int[] conditionColumns;
+        private DataRow next;
+        private int matched;
+        private int returned;
+        private boolean done;
+
+        private QueryIterator(RecordReader reader, SheetSchema schema, SheetSchema projected, int[] projection,
+                              int[] conditionColumns) {
+            this.reader = reader;
+            this.schema = schema;
+            this.projected = projected;
+            this.projection = projection;
+            this.conditionColumns = conditionColumns;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !done) {
+                if (returned >= limit) {
+                    finish();
+                    break;
+                }
+                String[] values = read();
+                if (values == null) {
+                    break;
+                }
+                int rowNum = reader.getRowNum();
+                if (rowNum < firstRow) {
+                    continue;
+                }
+                if (rowNum > lastRow) {
+                    finish();
+                    break;
+                }
+                // Rows pre-selected by a DataIndex match already; checking again is an array read per condition.
+                if (!matchesConditions(values)) {
+                    continue;
+                }
+                DataRow row = new DataRow(schema, values);
+                if (filter != null && !filter.test(row)) {
+                    continue;
+                }
+                if (matched++ % shardCount != shardIndex) {
+                    continue;
+                }
+                next = projection == null ? row : project(values);
+            }
+            return next != null;
+        }
+
+        @Override
+        public DataRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            DataRow row = next;
+            next = null;
+            returned++;
+            return row;
+        }
+
+        private String[] read() {
+            try {
+                String[] values = reader.next();
+                if (values == null) {
+                    finish();
+                }
+                return values;
+            } catch (IOException e) {
+                finish();
+                throw new IllegalStateException("Cannot read test data '" + schema.getName() + "': " + e.getMessage(), e);
+            }
+        }
+
+        private boolean matchesConditions(String[] values) {
+            for (int i = 0; i < conditionColumns.length; i++) {
+                String cell = conditionColumns[i] < 0 ? null : values[conditionColumns[i]];
+                if (!conditions.get(i).matches(cell)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private DataRow project(String[] values) {
+            String[] cells = new String[projection.length];
+            for (int i = 0; i < projection.length; i++) {
+                cells[i] = projection[i] < 0 ? null : values[projection[i]];
+            }
+            return new DataRow(projected, cells);
+        }
+
+        private void finish() {
+            done = true;
+            try {
+                reader.close();
+            } catch (IOException e) {
+                LogUtils.warn("Cannot close test data '" + schema.getName() + "': " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A column condition: equality, or membership in a list of tags.
+     */
+    static final class Condition {
+        final String column;
+        final String value;
+        final boolean tag;
+
+        private Condition(String column, String value, boolean tag) {
+            this.column = column;
+            this.value = value;
+            this.tag = tag;
+        }
+
+        boolean matches(String cell) {
+            if (cell == null) {
+                return false;
+            }
+            if (!tag) {
+                return cell.equals(value);
+            }
+            for (String token : tokens(cell)) {
+                if (token.equals(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        static String[] tokens(String cell) {
+            String trimmed = cell.trim();
+            return trimmed.isEmpty() ? new String[0] : trimmed.split("[,;\\s]+");
+        }
+    }
+}
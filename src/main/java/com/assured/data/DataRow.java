@@ -0,0 +1,90 @@
+package com.assured.data;
+
+import com.assured.utils.SecretVault;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DataRow is one immutable data-provider row: its cell texts in column order, read through the SheetSchema
+ * of the sheet. Unlike Hashtable it takes no lock and does no hashing on reads; equals, hashCode and
+ * toString are content based, so test ids and report parameters stay stable.
+ * <p>
+ * Only get() resolves {@code vault:<name>} cells. toMap() and toString() keep the reference as written:
+ * TestNG and Allure print data-provider parameters with toString(), and secrets must not reach the reports.
+ */
+public final class DataRow {
+
+    private final SheetSchema schema;
+    private final String[] values;
+
+    /**
+     * @param schema the schema of the sheet.
+     * @param values the cell texts, indexed like the schema; the array is not copied.
+     */
+    public DataRow(SheetSchema schema, String[] values) {
+        this.schema = schema;
+        this.values = values;
+    }
+
+    public SheetSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * @return the cell text, or null if the sheet has no such column.
+     */
+    public String get(ColumnKey column) {
+        return get(column.indexIn(schema));
+    }
+
+    /**
+     * @return the cell text, or null if the sheet has no such column. Prefer get(ColumnKey) in loops.
+     */
+    public String get(String column) {
+        return get(schema.indexOf(column));
+    }
+
+    /**
+     * @return the cell text, with a vault: reference replaced by its secret, or null if the index is out of the row.
+     */
+    public String get(int index) {
+        return index < 0 || index >= values.length ? null : SecretVault.resolve(values[index]);
+    }
+
+    /**
+     * @return the cells keyed by column name, for code that still expects a map. vault: references are not resolved.
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < schema.size() && i < values.length; i++) {
+            if (schema.getColumn(i) != null) {
+                map.put(schema.getColumn(i), values[i]);
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DataRow)) {
+            return false;
+        }
+        DataRow row = (DataRow) o;
+        return schema.equals(row.schema) && Arrays.equals(values, row.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * schema.hashCode() + Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
@@ -0,0 +1,72 @@
+package com.assured.data;
+
+import com.assured.exceptions.InvalidPathForExcelException;
+import com.assured.helpers.SheetRows;
+import com.assured.helpers.SheetTable;
+
+import java.net.URI;
+
+/**
+ * ExcelDataSource reads a sheet of an .xlsx workbook: {@code path/to/file.xlsx#SheetName}.
+ * Rows come from the shared ExcelTableCache or a snapshot when available, else they are streamed.
+ */
+public class ExcelDataSource implements TestDataSource {
+
+    @Override
+    public boolean supports(URI uri) {
+        String path = uri.getPath();
+        return path != null && (path.toLowerCase().endsWith(".xlsx") || path.toLowerCase().endsWith(".xlsm"));
+    }
+
+    @Override
+    public RecordReader open(URI uri) {
+        String sheetName = uri.getFragment();
+        if (sheetName == null || sheetName.isEmpty()) {
+            throw new InvalidPathForExcelException("Excel data URI needs the sheet name as fragment: " + uri);
+        }
+        return new ExcelRecordReader(SheetRows.open(TestDataSources.toPath(uri).toString(), sheetName));
+    }
+
+    private static final class ExcelRecordReader implements RecordReader {
+        private final SheetRows rows;
+        private final String[] header;
+
+        private ExcelRecordReader(SheetRows rows) {
+            this.rows = rows;
+            Object[] cells = rows.hasNext() ? rows.next() : new Object[0];
+            header = new String[cells.length];
+            for (int i = 0; i < cells.length; i++) {
+                header[i] = SheetTable.toText(cells[i]);
+            }
+        }
+
+        @Override
+        public String[] getHeader() {
+            return header;
+        }
+
+        @Override
+        public String[] next() {
+            if (!rows.hasNext()) {
+                return null;
+            }
+            Object[] cells = rows.next();
+            String[] values = new String[header.length];
+            for (int i = 0; i < values.length; i++) {
+                String value = SheetTable.toText(i < cells.length ? cells[i] : null);
+                values[i] = value == null ? "" : value;
+            }
+            return values;
+        }
+
+        @Override
+        public int getRowNum() {
+            return rows.getRowNum();
+        }
+
+        @Override
+        public void close() {
+            rows.close();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.assured.data;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * JsonDataSource reads an array of objects, either the whole file or a top-level field named by the
+ * URI fragment: {@code users.json} or {@code store.json#users}. The array is parsed one object at a time.
+ * The header is the field names of the first object; nested values are kept as JSON text.
+ */
+public class JsonDataSource implements TestDataSource {
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public boolean supports(URI uri) {
+        String path = uri.getPath();
+        return path != null && path.toLowerCase().endsWith(".json");
+    }
+
+    @Override
+    public RecordReader open(URI uri) throws IOException {
+        JsonParser parser = MAPPER.getFactory().createParser(TestDataSources.toPath(uri).toFile());
+        try {
+            seekArray(parser, uri.getFragment());
+            return new JsonRecordReader(parser);
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    //Positions the parser on the START_ARRAY of the rows
+    private static void seekArray(JsonParser parser, String field) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (field == null || field.isEmpty()) {
+            if (token != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of objects");
+            }
+            return;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object with the field '" + field + "'");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (name.equals(field) && value == JsonToken.START_ARRAY) {
+                return;
+            }
+            parser.skipChildren();
+        }
+        throw new IOException("JSON array field not found: " + field);
+    }
+
+    /**
+     * @return the field names of an object, in order.
+     */
+    static String[] getHeader(JsonNode first) {
+        List<String> names = new ArrayList<>();
+        if (first != null) {
+            Iterator<String> fields = first.fieldNames();
+            fields.forEachRemaining(names::add);
+        }
+        return names.toArray(new String[0]);
+    }
+
+    /**
+     * @return the values of the header fields as text; missing and null fields are "".
+     */
+    static String[] toRecord(String[] header, JsonNode node) {
+        String[] values = new String[header.length];
+        for (int i = 0; i < header.length; i++) {
+            JsonNode value = node.get(header[i]);
+            if (value == null || value.isNull()) {
+                values[i] = "";
+            } else {
+                values[i] = value.isValueNode() ? value.asText() : value.toString();
+            }
+        }
+        return values;
+    }
+
+    private static final class JsonRecordReader implements RecordReader {
+        private final JsonParser parser;
+        private final String[] header;
+        private JsonNode pending;
+        private int rowNum;
+
+        private JsonRecordReader(JsonParser parser) throws IOException {
+            this.parser = parser;
+            pending = readObject();
+            header = getHeader(pending);
+        }
+
+        @Override
+        public String[] getHeader() {
+            return header;
+        }
+
+        @Override
+        public String[] next() throws IOException {
+            JsonNode node = pending != null ? pending : readObject();
+            pending = null;
+            if (node == null) {
+                return null;
+            }
+            rowNum++;
+            return toRecord(header, node);
+        }
+
+        @Override
+        public int getRowNum() {
+            return rowNum;
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+
+        private JsonNode readObject() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object at " + parser.getCurrentLocation());
+            }
+            return MAPPER.readTree(parser);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.assured.data;
+
+import com.assured.exceptions.FrameworkException;
+import com.assured.utils.LogUtils;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JsonDataStore is an immutable, parsed JSON document queried with JsonPath. Each file is parsed once per
+ * process with the Jackson streaming parser (and again only when it changes), JsonPath expressions are
+ * compiled once and shared, and results are returned as copies, so any number of threads can query the
+ * same store without locking.
+ * <pre>
+ * JsonDataStore store = JsonDataStore.of("src/test/resources/datajson/store.json");
+ * String title = store.read("$.store.book[0].title", String.class);
+ * List&lt;Book&gt; books = store.read("$.store.book", new TypeReference&lt;List&lt;Book&gt;&gt;() {});
+ * </pre>
+ */
+public final class JsonDataStore {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Configuration JSON_PATH_CONFIG = Configuration.builder()
+            .jsonProvider(new JacksonJsonNodeJsonProvider(MAPPER))
+            .mappingProvider(new JacksonMappingProvider(MAPPER))
+            .build();
+    private static final Map<String, JsonPath> compiledPaths = new ConcurrentHashMap<>();
+    private static final Map<String, JsonDataStore> stores = new ConcurrentHashMap<>();
+
+    private final String path;
+    private final JsonNode root;
+    private final long lastModified;
+    private final long length;
+
+    private JsonDataStore(String path, JsonNode root, long lastModified, long length) {
+        this.path = path;
+        this.root = root;
+        this.lastModified = lastModified;
+        this.length = length;
+    }
+
+    /**
+     * Returns the store of a file, parsing it on first use or when it changed.
+     *
+     * @param jsonPath the file path, relative to the project folder or absolute.
+     * @throws FrameworkException if the file cannot be read or is not valid JSON.
+     */
+    public static JsonDataStore of(String jsonPath) {
+        File file = TestDataSources.toPath(TestDataSources.toUri(jsonPath)).toFile();
+        String key = file.getAbsolutePath();
+        long lastModified = file.lastModified();
+        long length = file.length();
+        return stores.compute(key, (k, store) -> {
+            if (store != null && store.lastModified == lastModified && store.length == length) {
+                return store;
+            }
+            return new JsonDataStore(key, parse(file), lastModified, length);
+        });
+    }
+
+    /**
+     * Parses a JSON string into a store that is not cached.
+     */
+    public static JsonDataStore parse(String json) {
+        try {
+            return new JsonDataStore("<string>", MAPPER.readTree(json), 0, 0);
+        } catch (IOException e) {
+            throw new FrameworkException("Invalid JSON: " + e.getMessage(), e);
+        }
+    }
+
+    private static JsonNode parse(File file) {
+        long start = System.nanoTime();
+        try (JsonParser parser = MAPPER.getFactory().createParser(file)) {
+            JsonNode root = MAPPER.readTree(parser);
+            LogUtils.info("Parsed JSON data " + file.getName() + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return root;
+        } catch (IOException e) {
+            throw new FrameworkException("Cannot read JSON file: " + file.getPath(), e);
+        }
+    }
+
+    /**
+     * @return the compiled JsonPath of an expression, shared by all stores.
+     */
+    public static JsonPath compile(String expression) {
+        return compiledPaths.computeIfAbsent(expression, JsonPath::compile);
+    }
+
+    /**
+     * @return the value at the path as plain Java objects: String, Number, Boolean, List, Map or null.
+     */
+    public Object read(String expression) {
+        return MAPPER.convertValue(evaluate(expression), Object.class);
+    }
+
+    /**
+     * @return the value at the path bound to the type, e.g. a model class or String.
+     */
+    public <T> T read(String expression, Class<T> type) {
+        return MAPPER.convertValue(evaluate(expression), type);
+    }
+
+    /**
+     * @return the value at the path bound to a generic type, e.g. {@code new TypeReference<List<Book>>() {}}.
+     */
+    public <T> T read(String expression, TypeReference<T> type) {
+        return MAPPER.convertValue(evaluate(expression), type);
+    }
+
+    /**
+     * @return the value at the path as a JSON tree; a deep copy, so the store stays immutable.
+     */
+    public JsonNode readTree(String expression) {
+        Object value = evaluate(expression);
+        return value instanceof JsonNode ? ((JsonNode) value).deepCopy() : MAPPER.valueToTree(value);
+    }
+
+    /**
+     * @return the document as compact JSON text.
+     */
+    public String toJson() {
+        return root.toString();
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    private Object evaluate(String expression) {
+        Objects.requireNonNull(expression, "JsonPath expression");
+        return compile(expression).read(root, JSON_PATH_CONFIG);
+    }
+}
@@ -0,0 +1,82 @@
+package com.assured.data;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * JsonlDataSource reads JSON Lines: one object per line, blank lines skipped. Columns are handled like
+ * JsonDataSource, from the field names of the first object.
+ */
+public class JsonlDataSource implements TestDataSource {
+
+    @Override
+    public boolean supports(URI uri) {
+        String path = uri.getPath();
+        return path != null && (path.toLowerCase().endsWith(".jsonl") || path.toLowerCase().endsWith(".ndjson"));
+    }
+
+    @Override
+    public RecordReader open(URI uri) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(TestDataSources.toPath(uri), StandardCharsets.UTF_8);
+        try {
+            return new JsonlRecordReader(reader);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    private static final class JsonlRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private final String[] header;
+        private JsonNode pending;
+        private int rowNum;
+
+        private JsonlRecordReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            pending = readObject();
+            header = JsonDataSource.getHeader(pending);
+        }
+
+        @Override
+        public String[] getHeader() {
+            return header;
+        }
+
+        @Override
+        public String[] next() throws IOException {
+            JsonNode node = pending != null ? pending : readObject();
+            pending = null;
+            if (node == null) {
+                return null;
+            }
+            rowNum++;
+            return JsonDataSource.toRecord(header, node);
+        }
+
+        @Override
+        public int getRowNum() {
+            return rowNum;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        private JsonNode readObject() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    return JsonDataSource.MAPPER.readTree(line);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.assured.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * RecordReader is the low-level cursor a TestDataSource returns: the header, then the records of the
+ * source as cell texts, one at a time. DataQuery applies the row range, filter, projection and limit on
+ * top of it while reading, so rows that are not selected are never turned into DataRows.
+ */
+public interface RecordReader extends Closeable {
+
+    /**
+     * @return the column names, read before the first record.
+     */
+    String[] getHeader();
+
+    /**
+     * @return the next record, exactly as long as the header (missing cells are ""), or null at the end.
+     */
+    String[] next() throws IOException;
+
+    /**
+     * @return the row number of the record last returned by next(); the header is row 0.
+     */
+    int getRowNum();
+
+    /**
+     * Releases the file; called by DataQuery at the end of the rows or of the limit.
+     */
+    @Override
+    void close() throws IOException;
+}
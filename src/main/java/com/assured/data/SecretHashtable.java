@@ -0,0 +1,31 @@
+package com.assured.data;
+
+import com.assured.utils.SecretVault;
+
+import java.util.Hashtable;
+
+/**
+ * SecretHashtable is the Hashtable row of ExcelHelpers.getDataHashTable: it holds the cells as written,
+ * with {@code vault:<name>} references, and only get() and getOrDefault() resolve them.
+ * <p>
+ * toString(), equals and hashCode see the references, like DataRow: TestNG and Allure print data-provider
+ * parameters with toString(), and secrets must not reach the reports.
+ */
+public class SecretHashtable extends Hashtable<String, String> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @return the value, with a vault: reference replaced by its secret, or null if there is no such key.
+     */
+    @Override
+    public synchronized String get(Object key) {
+        return SecretVault.resolve(super.get(key));
+    }
+
+    @Override
+    public synchronized String getOrDefault(Object key, String defaultValue) {
+        String value = super.get(key);
+        return value == null ? defaultValue : SecretVault.resolve(value);
+    }
+}
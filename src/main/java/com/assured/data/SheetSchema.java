@@ -0,0 +1,114 @@
+package com.assured.data;
+
+import com.assured.utils.LogUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SheetSchema is the header of a data sheet: column names and their index, computed once per sheet and
+ * shared by all of its DataRows. ColumnKeys remember the index they resolved to, so a field read on a row
+ * is an array access instead of a hash lookup.
+ */
+public final class SheetSchema {
+
+    private final String name;
+    private final String[] columns;
+    private final Map<String, Integer> indexes;
+
+    private SheetSchema(String name, String[] columns) {
+        this.name = name;
+        this.columns = columns;
+        Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] != null && !columns[i].isEmpty()) {
+                map.putIfAbsent(columns[i], i);
+            }
+        }
+        this.indexes = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * @param name    a name for logs, e.g. the sheet name.
+     * @param columns the header cells; null or empty names are kept as unnamed columns.
+     */
+    public static SheetSchema of(String name, String... columns) {
+        return new SheetSchema(name, columns.clone());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return columns.length;
+    }
+
+    public List<String> getColumns() {
+        return Collections.unmodifiableList(Arrays.asList(columns));
+    }
+
+    public String getColumn(int index) {
+        return columns[index];
+    }
+
+    /**
+     * @return the index of the column, or -1 if the sheet has no such column.
+     */
+    public int indexOf(String column) {
+        Integer index = indexes.get(column);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Checks that the columns a model class declares as static ColumnKey fields exist in this sheet,
+     * and resolves them up front. Missing columns are logged, reading them returns null.
+     *
+     * @param modelClass a model class such as SignInModel.
+     * @return this schema.
+     */
+    public SheetSchema bind(Class<?> modelClass) {
+        for (Field field : modelClass.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) || field.getType() != ColumnKey.class) {
+                continue;
+            }
+            try {
+                field.setAccessible(true);
+                ColumnKey key = (ColumnKey) field.get(null);
+                if (key != null && key.indexIn(this) < 0) {
+                    LogUtils.warn("Column '" + key.getName() + "' of " + modelClass.getSimpleName()
+                            + " not found in sheet '" + name + "'");
+                }
+            } catch (IllegalAccessException e) {
+                LogUtils.warn("Cannot read " + modelClass.getSimpleName() + "." + field.getName() + ": " + e.getMessage());
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SheetSchema)) {
+            return false;
+        }
+        return Arrays.equals(columns, ((SheetSchema) o).columns);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(columns);
+    }
+
+    @Override
+    public String toString() {
+        return name + Arrays.toString(columns);
+    }
+}
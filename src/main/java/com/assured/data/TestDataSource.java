@@ -0,0 +1,24 @@
+package com.assured.data;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * TestDataSource is the SPI of a test data format. Implementations are found with ServiceLoader
+ * (META-INF/services/com.assured.data.TestDataSource) and picked by TestDataSources from the data URI;
+ * the built-in ones read .xlsx, .csv, .json and .jsonl files.
+ */
+public interface TestDataSource {
+
+    /**
+     * @return true if this source reads the URI, usually decided by the file extension.
+     */
+    boolean supports(URI uri);
+
+    /**
+     * Opens a streaming reader. The URI fragment, if any, selects a part of the file such as an Excel sheet.
+     *
+     * @throws IOException if the data cannot be read.
+     */
+    RecordReader open(URI uri) throws IOException;
+}
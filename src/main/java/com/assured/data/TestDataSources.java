@@ -0,0 +1,219 @@
+package com.assured.data;
+
+import com.assured.exceptions.FrameworkException;
+import com.assured.helpers.SystemHelpers;
+import com.assured.utils.LogUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TestDataSources opens test data by location, whatever its format: the TestDataSource is chosen from the
+ * URI, so moving a large dataset from .xlsx to .csv or .jsonl only changes the location string.
+ * Locations are URIs or paths relative to the project folder, with an optional fragment:
+ * {@code src/test/resources/testdata/Common/ProviderData.xlsx#SignIn}, {@code data/users.jsonl}.
+ */
+public final class TestDataSources {
+
+    private static final List<TestDataSource> sources = loadSources();
+    private static final Map<String, CachedRecords> cache = new ConcurrentHashMap<>();
+
+    private TestDataSources() {
+    }
+
+    /**
+     * Reads the rows selected by the query.
+     *
+     * @param location the data URI or project-relative path.
+     * @param query    the rows and columns to read.
+     * @return the rows, read lazily unless the query is cached or has conditions.
+     */
+    public static Iterator<DataRow> open(String location, DataQuery query) {
+        URI uri = toUri(location);
+        String name = uri.getFragment() != null ? uri.getFragment() : new File(uri.getPath()).getName();
+        try {
+            RecordReader reader;
+            if (query.isCached() || !query.getConditions().isEmpty()) {
+                CachedRecords records = getCached(uri, name);
+                reader = records.reader(records.index.select(query.getConditions()));
+            } else {
+                reader = getSource(uri).open(uri);
+            }
+            return query.apply(reader, name);
+        } catch (IOException e) {
+            throw new FrameworkException("Cannot read test data: " + location, e);
+        }
+    }
+
+    /**
+     * Same as open, with every row wrapped for a TestNG data provider: {@code Object[]{DataRow}}.
+     */
+    public static Iterator<Object[]> provider(String location, DataQuery query) {
+        Iterator<DataRow> rows = open(location, query);
+        return new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                return new Object[]{rows.next()};
+            }
+        };
+    }
+
+    /**
+     * @return the source that reads the URI.
+     * @throws FrameworkException if no registered source supports it.
+     */
+    public static TestDataSource getSource(URI uri) {
+        for (TestDataSource source : sources) {
+            if (source.supports(uri)) {
+                return source;
+            }
+        }
+        throw new FrameworkException("No TestDataSource supports " + uri);
+    }
+
+    /**
+     * Drops the cached records of every location, e.g. after generating data files.
+     */
+    public static void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * Turns a location into a URI; a path without scheme is resolved against the project folder.
+     */
+    public static URI toUri(String location) {
+        String path = location;
+        String fragment = null;
+        int hash = location.lastIndexOf('#');
+        if (hash >= 0) {
+            path = location.substring(0, hash);
+            fragment = location.substring(hash + 1);
+        }
+        // A scheme has at least two characters, so "C:\..." stays a path.
+        if (path.matches("^[a-zA-Z][a-zA-Z0-9+.-]+:.*")) {
+            return URI.create(location);
+        }
+        File file = new File(path);
+        if (!file.isAbsolute()) {
+            file = new File(SystemHelpers.getCurrentDir(), path);
+        }
+        try {
+            URI fileUri = file.toURI();
+            return new URI(fileUri.getScheme(), fileUri.getSchemeSpecificPart(), fragment);
+        } catch (URISyntaxException e) {
+            throw new FrameworkException("Invalid test data location: " + location, e);
+        }
+    }
+
+    /**
+     * @return the local file of a file URI, without its fragment.
+     */
+    public static Path toPath(URI uri) {
+        try {
+            return Paths.get(new URI(uri.getScheme(), uri.getSchemeSpecificPart(), null));
+        } catch (URISyntaxException e) {
+            throw new FrameworkException("Invalid test data location: " + uri, e);
+        }
+    }
+
+    private static List<TestDataSource> loadSources() {
+        List<TestDataSource> loaded = new ArrayList<>();
+        for (TestDataSource source : ServiceLoader.load(TestDataSource.class)) {
+            loaded.add(source);
+        }
+        LogUtils.info("Test data sources: " + loaded.size());
+        return Collections.unmodifiableList(loaded);
+    }
+
+    //All records of a location, re-read when the file changes
+    private static CachedRecords getCached(URI uri, String name) throws IOException {
+        File file = "file".equals(uri.getScheme()) ? toPath(uri).toFile() : null;
+        long lastModified = file == null ? -1 : file.lastModified();
+        long length = file == null ? -1 : file.length();
+        CachedRecords cached = cache.get(uri.toString());
+        if (cached != null && cached.lastModified == lastModified && cached.length == length) {
+            return cached;
+        }
+        // Two threads may read the same file at once; both results are identical, the last one is kept.
+        try (RecordReader reader = getSource(uri).open(uri)) {
+            CachedRecords records = new CachedRecords(reader, name, lastModified, length);
+            cache.put(uri.toString(), records);
+            return records;
+        }
+    }
+
+    private static final class CachedRecords {
+        private final String[] header;
+        private final List<String[]> records = new ArrayList<>();
+        private final List<Integer> rowNums = new ArrayList<>();
+        private final DataIndex index;
+        private final long lastModified;
+        private final long length;
+
+        private CachedRecords(RecordReader reader, String name, long lastModified, long length) throws IOException {
+            this.header = reader.getHeader();
+            this.lastModified = lastModified;
+            this.length = length;
+            String[] record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+                rowNums.add(reader.getRowNum());
+            }
+            this.index = new DataIndex(name, header, records);
+        }
+
+        /**
+         * @param positions the records to read, in order, or null for all of them.
+         */
+        private RecordReader reader(int[] positions) {
+            int size = positions == null ? records.size() : positions.length;
+            return new RecordReader() {
+                private int cursor = -1;
+
+                @Override
+                public String[] getHeader() {
+                    return header;
+                }
+
+                @Override
+                public String[] next() {
+                    if (cursor + 1 >= size) {
+                        return null;
+                    }
+                    cursor++;
+                    return records.get(position());
+                }
+
+                @Override
+                public int getRowNum() {
+                    return rowNums.get(position());
+                }
+
+                @Override
+                public void close() {
+                    cursor = size;
+                }
+
+                private int position() {
+                    return positions == null ? cursor : positions[cursor];
+                }
+            };
+        }
+    }
+}
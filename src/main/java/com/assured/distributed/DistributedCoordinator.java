@@ -0,0 +1,283 @@
+package com.assured.distributed;
+
+import com.assured.helpers.SystemHelpers;
+import com.assured.helpers.TestHistoryHelpers;
+import com.assured.utils.LogUtils;
+import org.testng.annotations.Test;
+import org.testng.xml.Parser;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.assured.distributed.DistributedProtocol.*;
+
+/**
+ * DistributedCoordinator serves the test methods of a suite from a queue over a TCP socket.
+ * Workers (DistributedWorker, in their own JVM on this or another host) pull the next test when they are free
+ * and stream the result back, so a slow test never strands an idle worker. Tests are queued longest first
+ * using TestHistoryHelpers, and a test leased by a worker that disconnects is put back at the head of the queue.
+ * <p>
+ * Usage (from the project root, after test-compile):
+ * <pre>
+ * java -cp &lt;test classpath&gt; com.assured.distributed.DistributedCoordinator
+ *      --suite src/test/resources/suites/SignIn-parallel-methods.xml [--bind 127.0.0.1] [--port 47000] [--local-workers 3]
+ * </pre>
+ * With --local-workers the coordinator starts that many worker JVMs on localhost itself; remote workers are started with
+ * {@code DistributedWorker --host <coordinator> --port <port> --suite <same suite>}.
+ * </p>
+ */
+public class DistributedCoordinator {
+
+    static final Path RESULTS_FILE = Paths.get(SystemHelpers.getCurrentDir() + "target/distributed/results.jsonl");
+
+    private final LinkedBlockingDeque<String> queue = new LinkedBlockingDeque<>();
+    private final Map<String, String> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger nodes = new AtomicInteger();
+    private final CountDownLatch remaining;
+    private final ServerSocket serverSocket;
+
+    public DistributedCoordinator(List<String> testIds, String bindAddress, int port) throws IOException {
+        this.queue.addAll(testIds);
+        this.remaining = new CountDownLatch(testIds.size());
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getByName(bindAddress));
+    }
+
+    public static void main(String[] args) throws Exception {
+        String suite = argument(args, "suite", "src/test/resources/suites/SuiteAll.xml");
+        String bind = argument(args, "bind", "127.0.0.1");
+        int port = Integer.parseInt(argument(args, "port", String.valueOf(DEFAULT_PORT)));
+        int localWorkers = Integer.parseInt(argument(args, "local-workers", "0"));
+
+        List<String> testIds = collectTestIds(suite);
+        LogUtils.info("Coordinator queued " + testIds.size() + " tests from " + suite + " on " + bind + ":" + port);
+
+        DistributedCoordinator coordinator = new DistributedCoordinator(testIds, bind, port);
+        List<Process> workers = new ArrayList<>();
+        for (int i = 1; i <= localWorkers; i++) {
+            workers.add(startLocalWorker("local-" + i, port, suite));
+        }
+        boolean success = coordinator.run();
+        for (Process worker : workers) {
+            worker.waitFor();
+        }
+        System.exit(success ? 0 : 1);
+    }
+
+    /**
+     * @return the port workers connect to, also when the coordinator was bound to port 0.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts workers until every test has reported a result.
+     *
+     * @return true if no test failed.
+     */
+    public boolean run() throws IOException, InterruptedException {
+        Files.createDirectories(RESULTS_FILE.getParent());
+        Files.deleteIfExists(RESULTS_FILE);
+        ExecutorService handlers = Executors.newCachedThreadPool();
+        Thread acceptor = new Thread(() -> {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    handlers.submit(() -> serve(socket));
+                } catch (IOException e) {
+                    if (!serverSocket.isClosed()) {
+                        LogUtils.error("Coordinator cannot accept worker: " + e.getMessage(), e);
+                    }
+                }
+            }
+        }, "coordinator-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        long start = System.currentTimeMillis();
+        remaining.await();
+        // Let connected workers receive DONE before the sockets go away.
+        handlers.shutdown();
+        handlers.awaitTermination(30, java.util.concurrent.TimeUnit.SECONDS);
+        serverSocket.close();
+        TestHistoryHelpers.save();
+        LogUtils.info("Distributed run finished in " + (System.currentTimeMillis() - start) + " ms, failed tests: " + failed.get()
+                + ". Results: " + RESULTS_FILE);
+        return failed.get() == 0;
+    }
+
+    private void serve(Socket socket) {
+        String workerId = socket.getRemoteSocketAddress().toString();
+        String leased = null;
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(s.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] fields = parse(line);
+                switch (fields[0]) {
+                    case HELLO -> {
+                        workerId = fields[1];
+                        // Every worker allocates test entity IDs in its own node slice (IdAllocator)
+                        int node = nodes.getAndIncrement() % NODE_COUNT;
+                        out.println(message(NODE, node));
+                        LogUtils.info("Worker connected: " + workerId + ", ID_NODE " + node);
+                    }
+                    case NEXT -> {
+                        leased = queue.poll();
+                        if (leased != null) {
+                            inFlight.put(leased, workerId);
+                            out.println(message(TEST, leased));
+                        } else if (remaining.getCount() > 0) {
+                            out.println(WAIT);
+                        } else {
+                            out.println(DONE);
+                            return;
+                        }
+                    }
+                    case RESULT -> {
+                        onResult(workerId, fields);
+                        leased = null;
+                    }
+                    default -> LogUtils.warn("Unknown message from " + workerId + ": " + line);
+                }
+            }
+        } catch (IOException e) {
+            LogUtils.warn("Lost worker " + workerId + ": " + e.getMessage());
+        } finally {
+            if (leased != null && inFlight.remove(leased) != null) {
+                LogUtils.warn("Re-queueing " + leased + " after worker " + workerId + " disconnected.");
+                queue.offerFirst(leased);
+            }
+        }
+    }
+
+    private void onResult(String workerId, String[] fields) throws IOException {
+        String testId = fields[1];
+        String status = fields[2];
+        long duration = Long.parseLong(fields[3]);
+        if (inFlight.remove(testId) == null) {
+            return;
+        }
+        if (STATUS_FAIL.equals(status)) {
+            failed.incrementAndGet();
+        }
+        String[] parts = splitTestId(testId);
+        TestHistoryHelpers.recordDuration(parts[1] + "." + parts[2], duration);
+        String json = String.format("{\"testId\":\"%s\",\"worker\":\"%s\",\"status\":\"%s\",\"durationMillis\":%d,"
+                        + "\"passed\":%s,\"failed\":%s,\"skipped\":%s}%n",
+                testId.replace("\"", "\\\""), workerId.replace("\"", "\\\""), status, duration, fields[4], fields[5], fields[6]);
+        synchronized (this) {
+            Files.writeString(RESULTS_FILE, json, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        LogUtils.info("[" + workerId + "] " + status + " " + testId + " (" + duration + " ms), "
+                + (remaining.getCount() - 1) + " remaining");
+        remaining.countDown();
+    }
+
+    /**
+     * Lists every test method of the suite (and its child suites) as a test id, longest first.
+     */
+    public static List<String> collectTestIds(String suitePath) throws IOException {
+        Set<String> ids = new LinkedHashSet<>();
+        for (XmlSuite suite : new Parser(SystemHelpers.getCurrentDir() + suitePath).parseToList()) {
+            for (XmlTest test : suite.getTests()) {
+                for (XmlClass xmlClass : test.getXmlClasses()) {
+                    for (String method : getTestMethods(xmlClass)) {
+                        ids.add(testId(test.getName(), xmlClass.getName(), method));
+                    }
+                }
+            }
+        }
+        List<String> ordered = new ArrayList<>(ids);
+        ordered.sort(Comparator.comparingLong((String id) -> {
+            String[] parts = splitTestId(id);
+            return TestHistoryHelpers.getExpectedDuration(parts[1] + "." + parts[2]);
+        }).reversed());
+        return ordered;
+    }
+
+    private static List<String> getTestMethods(XmlClass xmlClass) {
+        List<String> included = new ArrayList<>();
+        for (XmlInclude include : xmlClass.getIncludedMethods()) {
+            included.add(include.getName());
+        }
+        Class<?> testClass = xmlClass.getSupportClass();
+        boolean classLevelTest = testClass.isAnnotationPresent(Test.class);
+        Set<String> methods = new LinkedHashSet<>();
+        for (Method method : testClass.getMethods()) {
+            Test test = method.getAnnotation(Test.class);
+            boolean isTest = test != null ? test.enabled()
+                    : classLevelTest && method.getDeclaringClass() != Object.class && !Modifier.isStatic(method.getModifiers());
+            if (!isTest || xmlClass.getExcludedMethods().contains(method.getName())) {
+                continue;
+            }
+            if (included.isEmpty() || included.contains(method.getName())) {
+                methods.add(method.getName());
+            }
+        }
+        return new ArrayList<>(methods);
+    }
+
+    static Process startLocalWorker(String workerId, int port, String suite) throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        ProcessBuilder builder = new ProcessBuilder(java, "-cp", resolveClasspath(), DistributedWorker.class.getName(),
+                "--host", "127.0.0.1", "--port", String.valueOf(port), "--suite", suite, "--id", workerId);
+        builder.directory(new File(SystemHelpers.getCurrentDir()));
+        builder.inheritIO();
+        LogUtils.info("Starting local worker JVM: " + workerId);
+        return builder.start();
+    }
+
+    /**
+     * The class path of the running tests. Under exec:java the project class path only exists in the context
+     * class loader, not in java.class.path.
+     */
+    private static String resolveClasspath() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader instanceof URLClassLoader urlClassLoader && urlClassLoader.getURLs().length > 0) {
+            List<String> entries = new ArrayList<>();
+            for (URL url : urlClassLoader.getURLs()) {
+                try {
+                    entries.add(Paths.get(url.toURI()).toString());
+                } catch (Exception e) {
+                    entries.add(url.getPath());
+                }
+            }
+            return String.join(File.pathSeparator, entries);
+        }
+        return System.getProperty("java.class.path");
+    }
+}
@@ -0,0 +1,85 @@
+package com.assured.distributed;
+
+/**
+ * Line based protocol spoken between DistributedCoordinator and DistributedWorker.
+ * Every message is one UTF-8 line; fields are separated by a TAB.
+ *
+ * <pre>
+ * worker      -&gt; coordinator : HELLO  workerId
+ * coordinator -&gt; worker      : NODE   idNode
+ * worker      -&gt; coordinator : NEXT
+ * coordinator -&gt; worker      : TEST   testId   |  WAIT  |  DONE
+ * worker      -&gt; coordinator : RESULT testId status durationMillis passed failed skipped
+ * </pre>
+ * <p>
+ * A test id is {@code xmlTestName#className#methodName}, which is enough for a worker to rebuild
+ * the &lt;test&gt; (parameters, listeners) from its own copy of the suite file.
+ * </p>
+ */
+public final class DistributedProtocol {
+
+    public static final String HELLO = "HELLO";
+    public static final String NODE = "NODE";
+    public static final String NEXT = "NEXT";
+    public static final String TEST = "TEST";
+    public static final String WAIT = "WAIT";
+    public static final String DONE = "DONE";
+    public static final String RESULT = "RESULT";
+
+    public static final String SEPARATOR = "\t";
+    public static final String ID_SEPARATOR = "#";
+
+    public static final String STATUS_PASS = "PASS";
+    public static final String STATUS_FAIL = "FAIL";
+    public static final String STATUS_SKIP = "SKIP";
+
+    public static final int DEFAULT_PORT = 47000;
+    // ID_NODE values handed to workers (IdAllocator supports 0-999)
+    public static final int NODE_COUNT = 1000;
+
+    // Suite parameter set on the suite a worker runs, for listeners that must behave differently there.
+    public static final String WORKER_PARAMETER = "distributed.worker";
+
+    private DistributedProtocol() {
+    }
+
+    public static String message(Object... fields) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                sb.append(SEPARATOR);
+            }
+            sb.append(fields[i]);
+        }
+        return sb.toString();
+    }
+
+    public static String[] parse(String line) {
+        return line.split(SEPARATOR, -1);
+    }
+
+    public static String testId(String xmlTestName, String className, String methodName) {
+        return xmlTestName + ID_SEPARATOR + className + ID_SEPARATOR + methodName;
+    }
+
+    /**
+     * @return {xmlTestName, className, methodName}
+     */
+    public static String[] splitTestId(String testId) {
+        int last = testId.lastIndexOf(ID_SEPARATOR);
+        int middle = testId.lastIndexOf(ID_SEPARATOR, last - 1);
+        return new String[]{testId.substring(0, middle), testId.substring(middle + 1, last), testId.substring(last + 1)};
+    }
+
+    /**
+     * Reads "--name value" from the command line arguments.
+     */
+    public static String argument(String[] args, String name, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--" + name)) {
+                return args[i + 1];
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,235 @@
+package com.assured.distributed;
+
+import com.assured.config.ConfigService;
+import com.assured.helpers.SystemHelpers;
+import com.assured.metrics.MetricsRegistry;
+import com.assured.utils.LogUtils;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.TestNG;
+import org.testng.xml.Parser;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.assured.distributed.DistributedProtocol.*;
+
+/**
+ * DistributedWorker pulls one test at a time from a DistributedCoordinator, runs it in this JVM with TestNG
+ * (same listeners and parameters as the &lt;test&gt; it comes from) and reports the result back.
+ * <p>
+ * The whole worker is a single TestNG run, so suite listeners (reports, metrics, history) start and finish once
+ * per JVM. The run has one &lt;test&gt; "slot" per test of the suite; when a slot starts, its method interceptor
+ * leases the next test from the coordinator and keeps only that method. Slots left once the queue is empty run nothing.
+ * </p>
+ * <p>
+ * Usage: {@code DistributedWorker --host 127.0.0.1 --port 47000 --suite <suite xml> [--id name]}
+ * </p>
+ */
+public class DistributedWorker {
+
+    private final String suitePath;
+    private final List<XmlSuite> suites;
+
+    public DistributedWorker(String suitePath) throws IOException {
+        this.suitePath = suitePath;
+        this.suites = new Parser(SystemHelpers.getCurrentDir() + suitePath).parseToList();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String host = argument(args, "host", "127.0.0.1");
+        int port = Integer.parseInt(argument(args, "port", String.valueOf(DEFAULT_PORT)));
+        String suite = argument(args, "suite", "src/test/resources/suites/SuiteAll.xml");
+        String workerId = argument(args, "id", ManagementFactory.getRuntimeMXBean().getName());
+
+        new DistributedWorker(suite).run(host, port, workerId);
+        System.exit(0);
+    }
+
+    public void run(String host, int port, String workerId) throws IOException {
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            out.println(message(HELLO, workerId));
+            String[] node = parse(String.valueOf(in.readLine()));
+            if (!node[0].equals(NODE)) {
+                throw new IOException("Unexpected answer to " + HELLO + ": " + String.join(SEPARATOR, node));
+            }
+            // Set before the tests read any configuration, so IdAllocator uses the node of this worker
+            System.setProperty("ID_NODE", node[1]);
+            ConfigService.reload();
+            LogUtils.info("Worker " + workerId + " connected to coordinator " + host + ":" + port + " as ID_NODE " + node[1]);
+
+            TestNG testNG = new TestNG(false);
+            testNG.setXmlSuites(Collections.singletonList(buildSuite(workerId)));
+            testNG.addListener(new Lease(in, out));
+            try {
+                testNG.run();
+            } catch (Exception e) {
+                LogUtils.error("TestNG crashed on worker " + workerId + ": " + e.getMessage(), e);
+            }
+        }
+        LogUtils.info("Worker " + workerId + " finished.");
+    }
+
+    /**
+     * One suite with the listeners and parameters of the source suite, and one slot per test to run:
+     * a worker can never lease more tests than the suite has.
+     */
+    private XmlSuite buildSuite(String workerId) throws IOException {
+        XmlSuite first = suites.get(0);
+        XmlSuite suite = new XmlSuite();
+        suite.setName(first.getName());
+        Map<String, String> parameters = new LinkedHashMap<>(first.getParameters());
+        parameters.put(WORKER_PARAMETER, "true");
+        suite.setParameters(parameters);
+        suite.setDataProviderThreadCount(first.getDataProviderThreadCount());
+        List<String> listeners = new ArrayList<>();
+        Set<String> classes = new LinkedHashSet<>();
+        for (XmlSuite source : suites) {
+            for (String listener : source.getListeners()) {
+                if (!listeners.contains(listener)) {
+                    listeners.add(listener);
+                }
+            }
+            for (XmlTest test : source.getTests()) {
+                for (XmlClass xmlClass : test.getXmlClasses()) {
+                    classes.add(xmlClass.getName());
+                }
+            }
+        }
+        suite.setListeners(listeners);
+
+        int slots = DistributedCoordinator.collectTestIds(suitePath).size();
+        for (int i = 1; i <= slots; i++) {
+            XmlTest slot = new XmlTest(suite);
+            slot.setName(workerId + " #" + i);
+            List<XmlClass> slotClasses = new ArrayList<>();
+            for (String className : classes) {
+                slotClasses.add(new XmlClass(className, false));
+            }
+            slot.setXmlClasses(slotClasses);
+        }
+        return suite;
+    }
+
+    private XmlTest findXmlTest(String name) {
+        for (XmlSuite suite : suites) {
+            for (XmlTest test : suite.getTests()) {
+                if (test.getName().equals(name)) {
+                    return test;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Test '" + name + "' is not part of the worker suite.");
+    }
+
+    /**
+     * Leases a test when a slot starts and reports its result when the slot finishes.
+     * Slots run one after the other, so only one lease is open at a time.
+     */
+    private final class Lease implements IMethodInterceptor, ITestListener {
+
+        private final BufferedReader in;
+        private final PrintWriter out;
+        private final Map<String, String> leasedBySlot = new LinkedHashMap<>();
+        private long leaseStart;
+        private boolean done;
+
+        private Lease(BufferedReader in, PrintWriter out) {
+            this.in = in;
+            this.out = out;
+        }
+
+        @Override
+        public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+            while (!done) {
+                String testId = next();
+                if (testId == null) {
+                    break;
+                }
+                String[] parts = splitTestId(testId);
+                List<IMethodInstance> leased = new ArrayList<>();
+                for (IMethodInstance instance : methods) {
+                    if (instance.getMethod().getRealClass().getName().equals(parts[1])
+                            && instance.getMethod().getMethodName().equals(parts[2])) {
+                        leased.add(instance);
+                    }
+                }
+                if (leased.isEmpty()) {
+                    LogUtils.warn("Leased test not found in the worker suite: " + testId);
+                    out.println(message(RESULT, testId, STATUS_SKIP, 0, 0, 0, 0));
+                    continue;
+                }
+                // The slot takes the parameters of the <test> the method comes from.
+                XmlTest source = findXmlTest(parts[0]);
+                context.getCurrentXmlTest().setParameters(source.getLocalParameters());
+                LogUtils.info("Running " + testId + " in " + context.getName());
+                MetricsRegistry.expect(leased.stream().filter(instance -> !instance.getMethod().isDataDriven()).count());
+                leasedBySlot.put(context.getName(), testId);
+                leaseStart = System.currentTimeMillis();
+                return leased;
+            }
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void onFinish(ITestContext context) {
+            String testId = leasedBySlot.remove(context.getName());
+            if (testId == null) {
+                return;
+            }
+            long duration = System.currentTimeMillis() - leaseStart;
+            int passed = context.getPassedTests().size();
+            int failed = context.getFailedTests().size() + context.getFailedConfigurations().size();
+            int skipped = context.getSkippedTests().size();
+            String status = failed > 0 ? STATUS_FAIL : (passed > 0 ? STATUS_PASS : STATUS_SKIP);
+            out.println(message(RESULT, testId, status, duration, passed, failed, skipped));
+        }
+
+        /**
+         * @return the next test id, or null once the coordinator has no test left for this worker.
+         */
+        private String next() {
+            try {
+                while (true) {
+                    out.println(NEXT);
+                    String line = in.readLine();
+                    if (line == null || line.equals(DONE)) {
+                        done = true;
+                        return null;
+                    }
+                    if (line.equals(WAIT)) {
+                        // Another worker still holds a test that may come back to the queue.
+                        Thread.sleep(1000);
+                        continue;
+                    }
+                    return parse(line)[1];
+                }
+            } catch (IOException e) {
+                LogUtils.error("Lost coordinator: " + e.getMessage(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done = true;
+            return null;
+        }
+    }
+}
@@ -1,8 +1,18 @@
 package com.assured.driver;
 
 import com.assured.constants.FrameworkConstants;
+import com.assured.helpers.SystemHelpers;
+import com.assured.metrics.MetricsRegistry;
+import com.assured.utils.LogUtils;
 import com.microsoft.playwright.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * PlaywrightFactory creates and manages Playwright objects using the browser type
  * defined in FrameworkConstants. It uses a switch-case to select the browser.
@@ -12,6 +22,10 @@ public final class PlaywrightFactory {
     // ThreadLocal storage for Playwright and Browser instances to manage per–thread resources.
     private static final ThreadLocal<Playwright> playwrightThreadLocal = new ThreadLocal<>();
     private static final ThreadLocal<Browser> browserThreadLocal = new ThreadLocal<>();
+    // Set when the browser of the thread was kept open for the next page (e.g. a retry) instead of being closed.
+    private static final ThreadLocal<Boolean> warmBrowserThreadLocal = new ThreadLocal<>();
+    // Contexts with a trace chunk recording (a nested browser of PageActions has its own context and chunk).
+    private static final Set<BrowserContext> recordingContexts = ConcurrentHashMap.newKeySet();
 
     // Private constructor to prevent instantiation.
     private PlaywrightFactory() { }
@@ -23,6 +37,40 @@ public final class PlaywrightFactory {
      * @return a new Page instance.
      */
     public static Page createPage(boolean headless) {
+        Browser browser = takeWarmBrowser();
+        if (browser == null) {
+            browser = launchBrowser(headless);
+        }
+
+        // Set up context options (for example, ignoring HTTPS errors and setting viewport size).
+        Browser.NewContextOptions contextOptions = new Browser.NewContextOptions()
+                .setIgnoreHTTPSErrors(true)
+                .setViewportSize(1880, 1000);
+        if (isVideoEnabled()) {
+            // Every context records its own file, so a video always belongs to exactly one test.
+            contextOptions.setRecordVideoDir(Paths.get(SystemHelpers.getCurrentDir() + FrameworkConstants.EXPORT_VIDEO_PATH));
+        }
+
+        // Create a new browser context and then a new page.
+        BrowserContext context = browser.newContext(contextOptions);
+        if (isTracingEnabled()) {
+            // Starting the trace also opens its first chunk; later tests on the same context open their own.
+            context.tracing().start(new Tracing.StartOptions().setScreenshots(true).setSnapshots(true));
+            recordingContexts.add(context);
+        }
+        Page page = context.newPage();
+
+        // Store the Page instance in your driver manager.
+        PlaywrightDriverManager.setPage(page);
+
+        return page;
+    }
+
+    /**
+     * Creates the Playwright instance and launches the browser selected in FrameworkConstants for the current thread.
+     */
+    private static Browser launchBrowser(boolean headless) {
+        long start = System.nanoTime();
         // Create the Playwright instance.
         Playwright playwright = Playwright.create();
         playwrightThreadLocal.set(playwright);
@@ -39,20 +87,126 @@ public final class PlaywrightFactory {
             default -> throw new IllegalArgumentException("Unsupported browser type: " + browserType);
         };
         browserThreadLocal.set(browser);
+        MetricsRegistry.recordNanos(MetricsRegistry.BROWSER_LAUNCH_TIME, System.nanoTime() - start);
+        return browser;
+    }
 
-        // Set up context options (for example, ignoring HTTPS errors and setting viewport size).
-        Browser.NewContextOptions contextOptions = new Browser.NewContextOptions()
-                .setIgnoreHTTPSErrors(true)
-                .setViewportSize(1880, 1000);
+    /**
+     * Returns the browser kept warm by {@link #releaseContext()} if it is still connected.
+     * Only an explicitly released browser is reused, so a nested createPage() never shares the active browser.
+     */
+    private static Browser takeWarmBrowser() {
+        boolean warm = Boolean.TRUE.equals(warmBrowserThreadLocal.get());
+        warmBrowserThreadLocal.remove();
+        Browser browser = browserThreadLocal.get();
+        if (warm && browser != null && browser.isConnected()) {
+            return browser;
+        }
+        if (warm) {
+            quit();
+        }
+        return null;
+    }
 
-        // Create a new browser context and then a new page.
-        BrowserContext context = browser.newContext(contextOptions);
-        Page page = context.newPage();
+    /**
+     * Closes the Page's context of the current thread but keeps Playwright and the Browser running,
+     * so the next createPage() on this thread skips the browser launch (used between retry attempts).
+     */
+    public static void releaseContext() {
+        Page page = PlaywrightDriverManager.getPage();
+        if (page != null) {
+            recordingContexts.remove(page.context());
+            page.context().close();
+            PlaywrightDriverManager.removePage();
+        }
+        warmBrowserThreadLocal.set(Boolean.TRUE);
+    }
 
-        // Store the Page instance in your driver manager.
-        PlaywrightDriverManager.setPage(page);
+    public static boolean isTracingEnabled() {
+        return !FrameworkConstants.TRACE_OFF.equalsIgnoreCase(FrameworkConstants.TRACE_MODE.trim());
+    }
 
-        return page;
+    /**
+     * Opens a trace chunk for the next test when the context of the current thread is reused.
+     * Does nothing if a chunk is already recording (a fresh context) or tracing is off.
+     *
+     * @param title the title of the chunk in the trace viewer.
+     */
+    public static void startTraceChunk(String title) {
+        Page page = PlaywrightDriverManager.getPage();
+        if (!isTracingEnabled() || page == null || recordingContexts.contains(page.context())) {
+            return;
+        }
+        page.context().tracing().startChunk(new Tracing.StartChunkOptions().setTitle(title));
+        recordingContexts.add(page.context());
+    }
+
+    /**
+     * Closes the recording trace chunk. A discarded chunk is never written to disk.
+     *
+     * @param keep whether to export the chunk.
+     * @param name the base name of the trace file.
+     * @return the trace zip, or null if the chunk was discarded or nothing was recording.
+     */
+    public static Path stopTraceChunk(boolean keep, String name) {
+        Page page = PlaywrightDriverManager.getPage();
+        if (!isTracingEnabled() || page == null || !recordingContexts.remove(page.context())) {
+            return null;
+        }
+        if (!keep) {
+            page.context().tracing().stopChunk();
+            return null;
+        }
+        Path trace = Paths.get(SystemHelpers.getCurrentDir() + FrameworkConstants.EXPORT_TRACE_PATH,
+                name + "_" + System.currentTimeMillis() + ".zip");
+        page.context().tracing().stopChunk(new Tracing.StopChunkOptions().setPath(trace));
+        return trace;
+    }
+
+    public static boolean isVideoEnabled() {
+        return FrameworkConstants.YES.equalsIgnoreCase(FrameworkConstants.VIDEO_RECORD.trim());
+    }
+
+    /**
+     * @return the video of the current Page, or null if video recording is off. Read it before the context is closed.
+     */
+    public static Video getVideo() {
+        Page page = PlaywrightDriverManager.getPage();
+        return page == null || !isVideoEnabled() ? null : page.video();
+    }
+
+    /**
+     * Keeps or deletes a video once its context is closed (Playwright finishes writing the file on close).
+     * Kept videos are renamed after the test; sizes are added to the video disk usage metrics.
+     *
+     * @param video the video returned by {@link #getVideo()}.
+     * @param keep  whether to keep the file.
+     * @param name  the base name of the kept file.
+     * @return the kept video, or null if it was deleted or is missing.
+     */
+    public static Path finishVideo(Video video, boolean keep, String name) {
+        if (video == null) {
+            return null;
+        }
+        try {
+            Path recorded = video.path();
+            if (!Files.exists(recorded)) {
+                return null;
+            }
+            long size = Files.size(recorded);
+            if (!keep) {
+                Files.delete(recorded);
+                MetricsRegistry.counter(MetricsRegistry.VIDEO_DISCARDED_BYTES).add(size);
+                return null;
+            }
+            Path kept = Files.move(recorded, recorded.resolveSibling(name + "_" + System.currentTimeMillis() + ".webm"));
+            MetricsRegistry.counter(MetricsRegistry.VIDEO_KEPT_BYTES).add(size);
+            MetricsRegistry.increment(MetricsRegistry.VIDEO_KEPT);
+            return kept;
+        } catch (IOException | PlaywrightException e) {
+            LogUtils.warn("Cannot finish video record of " + name + ": " + e.getMessage());
+            return null;
+        }
     }
 
     /**
@@ -68,9 +222,11 @@ public final class PlaywrightFactory {
      * Closes the Playwright-related resources for the current thread.
      */
     public static void quit() {
+        warmBrowserThreadLocal.remove();
         // Close the Page's context.
         Page page = PlaywrightDriverManager.getPage();
         if (page != null) {
+            recordingContexts.remove(page.context());
             page.context().close();
             PlaywrightDriverManager.removePage();
         }
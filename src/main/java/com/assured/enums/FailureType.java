@@ -0,0 +1,5 @@
+package com.assured.enums;
+
+public enum FailureType {
+    TRANSIENT, ASSERTION, UNKNOWN
+}
@@ -0,0 +1,80 @@
+package com.assured.fixtures;
+
+import com.assured.utils.LogUtils;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The instances of one scope occurrence (a test, a class, a worker, the suite). Guice builds the dependencies
+ * of an object before the object, so closing in reverse creation order tears dependents down first.
+ */
+final class FixtureContext {
+
+    private final String name;
+    private final Map<Key<?>, Object> instances = new HashMap<>();
+    private final Deque<Object> created = new ArrayDeque<>();
+    private boolean closed;
+
+    FixtureContext(String name) {
+        this.name = name;
+    }
+
+    synchronized <T> T get(Key<T> key, Provider<T> unscoped) {
+        if (closed) {
+            throw new IllegalStateException("Fixture scope " + name + " is closed, cannot provide " + key);
+        }
+        @SuppressWarnings("unchecked")
+        T instance = (T) instances.get(key);
+        if (instance == null) {
+            instance = unscoped.get();
+            if (instance != null) {
+                instances.put(key, instance);
+                created.push(instance);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @return the instance if this scope occurrence already created it, without creating it.
+     */
+    @SuppressWarnings("unchecked")
+    synchronized <T> T peek(Key<T> key) {
+        return (T) instances.get(key);
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the AutoCloseable instances, the last created first. A failing close is logged and the others still run.
+     */
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        while (!created.isEmpty()) {
+            Object instance = created.pop();
+            if (instance instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) instance).close();
+                } catch (Exception e) {
+                    LogUtils.warn("Cannot close " + instance.getClass().getSimpleName() + " of fixture scope " + name + ": " + e.getMessage());
+                }
+            }
+        }
+        instances.clear();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,65 @@
+package com.assured.fixtures;
+
+import com.assured.annotations.ClassScoped;
+import com.assured.annotations.SuiteScoped;
+import com.assured.annotations.TestScoped;
+import com.assured.annotations.WorkerScoped;
+import com.assured.config.ConfigService;
+import com.assured.driver.PlaywrightDriverManager;
+import com.assured.helpers.ExcelHelpers;
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.manybrain.mailinator.client.MailinatorClient;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import org.testng.asserts.SoftAssert;
+
+/**
+ * The framework fixtures and their scopes.
+ * <p>
+ * Page, BrowserContext and Browser are bridged from PlaywrightDriverManager, not scoped here:
+ * PlaywrightFactory keeps owning their lifecycle (warm browsers for retries, traces, videos).
+ */
+public class FixtureModule extends AbstractModule {
+
+    @Override
+    protected void configure() {
+        bindScope(TestScoped.class, Fixtures.TEST);
+        bindScope(ClassScoped.class, Fixtures.CLASS);
+        bindScope(WorkerScoped.class, Fixtures.WORKER);
+        bindScope(SuiteScoped.class, Fixtures.SUITE);
+
+        // Soft assertions collect the failures of one test, not of every test of the run;
+        // TestListener asserts them all when the test method returns
+        bind(SoftAssert.class).in(TestScoped.class);
+        // ExcelHelpers keeps the selected file and sheet: one per thread
+        bind(ExcelHelpers.class).in(WorkerScoped.class);
+    }
+
+    @Provides
+    @SuiteScoped
+    MailinatorClient mailinatorClient() {
+        return new MailinatorClient(ConfigService.getString("MAILINATOR_API_KEY"));
+    }
+
+    @Provides
+    Page page() {
+        Page page = PlaywrightDriverManager.getPage();
+        if (page == null) {
+            throw new IllegalStateException("No Playwright page on thread " + Thread.currentThread().getName()
+                    + ". Inject Provider<Page> and call get() in the test, after BaseTest created the page.");
+        }
+        return page;
+    }
+
+    @Provides
+    BrowserContext browserContext(Page page) {
+        return page.context();
+    }
+
+    @Provides
+    Browser browser(BrowserContext context) {
+        return context.browser();
+    }
+}
@@ -0,0 +1,31 @@
+package com.assured.fixtures;
+
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.Scope;
+
+import java.util.function.Supplier;
+
+/**
+ * A Guice Scope whose instances live in the FixtureContext that is current for the calling thread.
+ */
+public final class FixtureScope implements Scope {
+
+    private final String name;
+    private final Supplier<FixtureContext> context;
+
+    FixtureScope(String name, Supplier<FixtureContext> context) {
+        this.name = name;
+        this.context = context;
+    }
+
+    @Override
+    public <T> Provider<T> scope(Key<T> key, Provider<T> unscoped) {
+        return () -> context.get().get(key, unscoped);
+    }
+
+    @Override
+    public String toString() {
+        return "Fixtures." + name;
+    }
+}
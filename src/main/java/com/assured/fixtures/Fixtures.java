@@ -0,0 +1,171 @@
+package com.assured.fixtures;
+
+import com.assured.utils.LogUtils;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.OutOfScopeException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Fixtures provides test resources through Guice, each shared at the widest scope that is safe for it:
+ * <ul>
+ * <li>{@code @TestScoped}: one per test method invocation, closed after its @AfterMethod.</li>
+ * <li>{@code @ClassScoped}: one per test class, closed after the class; shared by its threads.</li>
+ * <li>{@code @WorkerScoped}: one per worker thread, closed at suite end.</li>
+ * <li>{@code @SuiteScoped}: one for the suite, closed at suite end.</li>
+ * </ul>
+ * AutoCloseable fixtures are closed automatically, dependents before their dependencies.
+ * BaseTest injects the @Inject fields of every test class; inject test-scoped fixtures as {@code Provider<T>}
+ * since a test class instance serves all its methods. Bindings come from FixtureModule and from the
+ * {@code com.google.inject.Module} services registered in META-INF/services.
+ * <p>
+ * A wider-scoped fixture must not depend on a narrower one: it would keep a closed instance.
+ */
+public final class Fixtures {
+
+    private static final ThreadLocal<FixtureContext> testContexts = new ThreadLocal<>();
+    private static final ThreadLocal<Class<?>> currentClasses = new ThreadLocal<>();
+    private static final Map<Class<?>, FixtureContext> classContexts = new ConcurrentHashMap<>();
+    private static final ThreadLocal<FixtureContext> workerContexts = new ThreadLocal<>();
+    private static final List<FixtureContext> allWorkerContexts = new CopyOnWriteArrayList<>();
+    private static volatile FixtureContext suiteContext = new FixtureContext("suite");
+    private static volatile Injector injector;
+
+    public static final FixtureScope TEST = new FixtureScope("TEST", Fixtures::testContext);
+    public static final FixtureScope CLASS = new FixtureScope("CLASS", Fixtures::classContext);
+    public static final FixtureScope WORKER = new FixtureScope("WORKER", Fixtures::workerContext);
+    public static final FixtureScope SUITE = new FixtureScope("SUITE", () -> suiteContext);
+
+    private Fixtures() {
+    }
+
+    /**
+     * @return the injector, created on first use.
+     */
+    public static Injector injector() {
+        Injector current = injector;
+        if (current == null) {
+            synchronized (Fixtures.class) {
+                current = injector;
+                if (current == null) {
+                    List<Module> modules = new ArrayList<>();
+                    modules.add(new FixtureModule());
+                    ServiceLoader.load(Module.class).forEach(modules::add);
+                    current = Guice.createInjector(modules);
+                    injector = current;
+                    LogUtils.info("Fixture injector created with " + modules.size() + " module(s)");
+                }
+            }
+        }
+        return current;
+    }
+
+    public static <T> T get(Class<T> type) {
+        return injector().getInstance(type);
+    }
+
+    public static <T> T get(Key<T> key) {
+        return injector().getInstance(key);
+    }
+
+    /**
+     * @return the instance of the running test's scope, or null if the test did not use one; never creates it.
+     */
+    public static <T> T getIfCreated(Class<T> type) {
+        FixtureContext context = testContexts.get();
+        return context == null ? null : context.peek(Key.get(type));
+    }
+
+    /**
+     * Sets the @Inject fields and methods of a test class instance.
+     */
+    public static void injectMembers(Object instance) {
+        injector().injectMembers(instance);
+    }
+
+    /**
+     * Makes the class the current test class of this thread, for @ClassScoped fixtures.
+     */
+    public static void enterClass(Class<?> testClass) {
+        currentClasses.set(testClass);
+    }
+
+    /**
+     * Opens the test scope of this thread; a test scope left open by a previous test is closed first.
+     */
+    public static void enterTest(Class<?> testClass, String testName) {
+        exitTest();
+        enterClass(testClass);
+        testContexts.set(new FixtureContext("test " + testName));
+    }
+
+    /**
+     * Closes the test scope of this thread.
+     */
+    public static void exitTest() {
+        FixtureContext context = testContexts.get();
+        if (context != null) {
+            testContexts.remove();
+            context.close();
+        }
+    }
+
+    /**
+     * Closes the class scope, once all methods of the class have run.
+     */
+    public static void exitClass(Class<?> testClass) {
+        FixtureContext context = classContexts.remove(testClass);
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    /**
+     * Closes every scope still open, the narrowest first, at suite end.
+     */
+    public static synchronized void closeAll() {
+        exitTest();
+        classContexts.keySet().forEach(Fixtures::exitClass);
+        for (FixtureContext context : allWorkerContexts) {
+            context.close();
+        }
+        allWorkerContexts.clear();
+        FixtureContext suite = suiteContext;
+        suiteContext = new FixtureContext("suite");
+        suite.close();
+    }
+
+    private static FixtureContext testContext() {
+        FixtureContext context = testContexts.get();
+        if (context == null) {
+            throw new OutOfScopeException("No test is running on thread " + Thread.currentThread().getName());
+        }
+        return context;
+    }
+
+    private static FixtureContext classContext() {
+        Class<?> testClass = currentClasses.get();
+        if (testClass == null) {
+            throw new OutOfScopeException("No test class is running on thread " + Thread.currentThread().getName());
+        }
+        return classContexts.computeIfAbsent(testClass, type -> new FixtureContext("class " + type.getSimpleName()));
+    }
+
+    private static FixtureContext workerContext() {
+        FixtureContext context = workerContexts.get();
+        if (context == null || context.isClosed()) {
+            context = new FixtureContext("worker " + Thread.currentThread().getName());
+            workerContexts.set(context);
+            allWorkerContexts.add(context);
+        }
+        return context;
+    }
+}
@@ -1,5 +1,6 @@
 package com.assured.helpers;
 
+import com.assured.metrics.MetricsRegistry;
 import com.assured.utils.LogUtils;
 import com.microsoft.playwright.Page;
 import org.apache.commons.io.FileUtils;
@@ -27,7 +28,9 @@ public class CaptureHelpers {
                 return;
             }
             // Capture screenshot as a byte array.
+            long start = System.nanoTime();
             byte[] screenshotBytes = page.screenshot(new Page.ScreenshotOptions());
+            MetricsRegistry.recordNanos(MetricsRegistry.SCREENSHOT_TIME, System.nanoTime() - start);
 
             // Define the output file path (adjust the path as needed).
             String filePath = System.getProperty("user.dir") + "/screenshots/" + screenName + ".png";
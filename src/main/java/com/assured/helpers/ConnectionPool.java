@@ -0,0 +1,317 @@
+package com.assured.helpers;
+
+import com.assured.utils.LogUtils;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * ConnectionPool is a small DataSource that keeps physical connections open between tests.
+ * <ul>
+ * <li>Leases are per thread: while a thread holds a connection, getConnection() on that thread returns the same
+ * one, and it goes back to the pool when the last holder closes it.</li>
+ * <li>Each lease has its own Connection object, unusable once the lease is returned: a reference kept after
+ * close() cannot run statements in the transaction of the next borrower.</li>
+ * <li>Each connection caches its PreparedStatements by SQL (LRU); closing one only clears its parameters.</li>
+ * <li>At most maxSize connections exist; a caller waits up to timeoutMillis for a free one.</li>
+ * </ul>
+ * Any JDBC URL works, so the pool can run against a local stand-in such as {@code jdbc:h2:mem:fixtures;DB_CLOSE_DELAY=-1}.
+ */
+public class ConnectionPool implements DataSource {
+
+    private final String url;
+    private final String userName;
+    private final String password;
+    private final int statementCacheSize;
+    private final long timeoutMillis;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final ThreadLocal<Lease> leases = new ThreadLocal<>();
+    private volatile boolean closed;
+
+    public ConnectionPool(String url, String userName, String password, int maxSize, int statementCacheSize, long timeoutMillis) {
+        this.url = url;
+        this.userName = userName;
+        this.password = password;
+        this.statementCacheSize = statementCacheSize;
+        this.timeoutMillis = timeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed: " + url);
+        }
+        Lease lease = leases.get();
+        if (lease != null) {
+            lease.holders++;
+            return lease.proxy;
+        }
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("No database connection free after " + timeoutMillis + " ms: " + url);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        try {
+            lease = new Lease(borrow());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        leases.set(lease);
+        return lease.proxy;
+    }
+
+    @Override
+    public Connection getConnection(String userName, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("The pool connects with its configured user only");
+    }
+
+    /**
+     * Closes the idle connections and refuses new leases. Leased connections are closed when returned.
+     */
+    public void close() {
+        closed = true;
+        PooledConnection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.closePhysical();
+        }
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    private PooledConnection borrow() throws SQLException {
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            // Most recently returned first: the connection least likely to have timed out on the server
+            if (connection.physical.isValid(2)) {
+                return connection;
+            }
+            connection.closePhysical();
+        }
+        LogUtils.info("Opening database connection: " + url);
+        return new PooledConnection(DriverManager.getConnection(url, userName, password));
+    }
+
+    private void release(PooledConnection connection) {
+        leases.remove();
+        try {
+            if (!connection.physical.getAutoCommit()) {
+                // A lease must not leak an open transaction to the next test
+                connection.physical.rollback();
+                connection.physical.setAutoCommit(true);
+            }
+            if (closed) {
+                connection.closePhysical();
+            } else {
+                idle.offerFirst(connection);
+            }
+        } catch (SQLException e) {
+            LogUtils.warn("Discarding database connection: " + e.getMessage());
+            connection.closePhysical();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private final class PooledConnection {
+        private final Connection physical;
+        private final Map<String, PreparedStatement> statements;
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() <= statementCacheSize) {
+                        return false;
+                    }
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+            };
+        }
+
+        private PreparedStatement cachedStatement(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null || statement.isClosed()) {
+                statement = physical.prepareStatement(sql);
+                statements.put(sql, statement);
+            }
+            return statement;
+        }
+
+        private void closePhysical() {
+            statements.values().forEach(ConnectionPool::closeQuietly);
+            statements.clear();
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                LogUtils.warn("Cannot close database connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * One lease of a pooled connection: the Connection the holders on the leasing thread share. Once the last holder
+     * closes it, it is returned and every call but close() and isClosed() fails, also on the statements it created.
+     */
+    private final class Lease implements InvocationHandler {
+        private final PooledConnection connection;
+        private final Connection proxy;
+        private int holders = 1;
+        private volatile boolean returned;
+
+        private Lease(PooledConnection connection) {
+            this.connection = connection;
+            this.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(this, args);
+            }
+            switch (method.getName()) {
+                case "close":
+                    if (!returned && --holders == 0) {
+                        returned = true;
+                        release(connection);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || connection.physical.isClosed();
+                default:
+                    break;
+            }
+            checkLeased();
+            if (method.getName().equals("prepareStatement") && args.length == 1 && statementCacheSize > 0) {
+                return reusable(connection.cachedStatement((String) args[0]));
+            }
+            if (method.getName().equals("unwrap") && ((Class<?>) args[0]).isInstance(connection.physical)) {
+                return connection.physical;
+            }
+            Object result = invokeOn(connection.physical, method, args);
+            return result instanceof Statement ? leased((Statement) result) : result;
+        }
+
+        private void checkLeased() throws SQLException {
+            if (returned) {
+                throw new SQLException("Connection already returned to the pool");
+            }
+        }
+
+        //The caller's view of a cached statement: close() only clears the per-use state
+        private PreparedStatement reusable(PreparedStatement statement) {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (p, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                statement.clearParameters();
+                                statement.clearBatch();
+                                return null;
+                            case "getConnection":
+                                return proxy;
+                            default:
+                                checkLeased();
+                                return invokeOn(statement, method, args);
+                        }
+                    });
+        }
+
+        //Other statements are not cached: they only need to stop working once the lease is returned
+        private Statement leased(Statement statement) {
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return (Statement) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (p, method, args) -> {
+                switch (method.getName()) {
+                    case "close":
+                    case "isClosed":
+                        return invokeOn(statement, method, args);
+                    case "getConnection":
+                        return proxy;
+                    default:
+                        checkLeased();
+                        return invokeOn(statement, method, args);
+                }
+            });
+        }
+    }
+
+    private static Object invokeOn(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            LogUtils.warn("Cannot close statement: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper of " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
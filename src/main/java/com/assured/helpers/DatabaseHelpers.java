@@ -1,17 +1,36 @@
-
-
 package com.assured.helpers;
 
+import com.assured.constants.FrameworkConstants;
+import com.assured.utils.LogUtils;
+
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 public class DatabaseHelpers {
 
+    private static final int BATCH_SIZE = Integer.parseInt(FrameworkConstants.DB_BATCH_SIZE.trim());
+    private static volatile ConnectionPool pool;
+
     public DatabaseHelpers() {
         super();
     }
 
+    /**
+     * Work done with one connection inside a transaction.
+     */
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T execute(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Opens a new, unpooled connection; the caller closes it. Prefer getConnection() for fixtures.
+     */
     public static Connection getMySQLConnection(String hostName, String dbName, String userName, String password) throws SQLException {
 
         // Ví dụ: jdbc:mysql://localhost:3306/saleserp
@@ -22,4 +41,143 @@ public class DatabaseHelpers {
         return conn;
     }
 
+    /**
+     * @return the pool configured by DB_URL, DB_USERNAME, DB_PASSWORD, DB_POOL_SIZE, DB_POOL_TIMEOUT_SECONDS
+     * and DB_STATEMENT_CACHE_SIZE, created on first use.
+     */
+    public static ConnectionPool getDataSource() {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DatabaseHelpers.class) {
+                current = pool;
+                if (current == null) {
+                    current = new ConnectionPool(FrameworkConstants.DB_URL, FrameworkConstants.DB_USERNAME,
+                            FrameworkConstants.DB_PASSWORD,
+                            Integer.parseInt(FrameworkConstants.DB_POOL_SIZE.trim()),
+                            Integer.parseInt(FrameworkConstants.DB_STATEMENT_CACHE_SIZE.trim()),
+                            Long.parseLong(FrameworkConstants.DB_POOL_TIMEOUT_SECONDS.trim()) * 1000);
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Leases a pooled connection; close it to give it back. Nested calls on one thread share the connection.
+     */
+    public static Connection getConnection() throws SQLException {
+        return getDataSource().getConnection();
+    }
+
+    /**
+     * Runs the work in one transaction: committed if it returns, rolled back if it throws.
+     * Called inside another transaction on the same thread, the work joins it.
+     */
+    public static <T> T inTransaction(SqlWork<T> work) throws SQLException {
+        try (Connection connection = getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            if (!autoCommit) {
+                return work.execute(connection);
+            }
+            connection.setAutoCommit(false);
+            try {
+                T result = work.execute(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Executes one statement for every row of parameters, in batches of DB_BATCH_SIZE, in one transaction.
+     * <pre>
+     * DatabaseHelpers.executeBatch("INSERT INTO providers (npi, name) VALUES (?, ?)", rows);
+     * </pre>
+     *
+     * @return the number of rows affected, or of statements run when the driver does not report counts.
+     */
+    public static int executeBatch(String sql, Collection<Object[]> rows) throws SQLException {
+        long start = System.nanoTime();
+        int affected = inTransaction(connection -> {
+            int total = 0;
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int pending = 0;
+                for (Object[] row : rows) {
+                    for (int i = 0; i < row.length; i++) {
+                        statement.setObject(i + 1, row[i]);
+                    }
+                    statement.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        total += count(statement.executeBatch());
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    total += count(statement.executeBatch());
+                }
+            }
+            return total;
+        });
+        LogUtils.info("Batch of " + rows.size() + " row(s) in " + (System.nanoTime() - start) / 1_000_000 + " ms: " + sql);
+        return affected;
+    }
+
+    /**
+     * Inserts fixture rows in bulk.
+     *
+     * @param table   the table name.
+     * @param columns the columns set by each row, in order.
+     * @param rows    the values of each row.
+     */
+    public static int seed(String table, List<String> columns, Collection<Object[]> rows) throws SQLException {
+        checkIdentifier(table);
+        columns.forEach(DatabaseHelpers::checkIdentifier);
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        return executeBatch(sql, rows);
+    }
+
+    /**
+     * Deletes fixture rows in bulk, e.g. purge("providers", "npi", createdNpis).
+     */
+    public static int purge(String table, String column, Collection<?> values) throws SQLException {
+        checkIdentifier(table);
+        checkIdentifier(column);
+        List<Object[]> rows = values.stream().map(value -> new Object[]{value}).toList();
+        return executeBatch("DELETE FROM " + table + " WHERE " + column + " = ?", rows);
+    }
+
+    /**
+     * Closes the pooled connections, at suite end.
+     */
+    public static void closePool() {
+        ConnectionPool current = pool;
+        if (current != null) {
+            current.close();
+            pool = null;
+        }
+    }
+
+    private static int count(int[] results) {
+        int total = 0;
+        for (int result : results) {
+            // SUCCESS_NO_INFO (-2): the statement ran, the driver did not count rows
+            total += result >= 0 ? result : 1;
+        }
+        return total;
+    }
+
+    //Table and column names cannot be statement parameters: only plain identifiers are accepted
+    private static void checkIdentifier(String name) {
+        if (name == null || !name.matches("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?")) {
+            throw new IllegalArgumentException("Invalid SQL identifier: " + name);
+        }
+    }
+
 }
@@ -2,169 +2,105 @@
 
 package com.assured.helpers;
 
+import com.assured.data.DataRow;
+import com.assured.data.SecretHashtable;
+import com.assured.data.SheetSchema;
 import com.assured.exceptions.InvalidPathForExcelException;
 import com.assured.utils.LogUtils;
+import com.assured.utils.SecretVault;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFCellStyle;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
-import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
 
 public class ExcelHelpers {
 
-    private FileInputStream fis;
-    private FileOutputStream fileOut;
+    //Stands for a row missing from the sheet when streaming: every cell reads as empty
+    private static final Object[] EMPTY_ROW = new Object[0];
+
     private Workbook workbook;
     private Sheet sheet;
-    private Cell cell;
+    private SheetTable table;
     private Row row;
     private String excelFilePath;
+    private String sheetName;
     private Map<String, Integer> columns = new HashMap<>();
 
     public ExcelHelpers() {
     }
 
     //Set Excel File
+    //Reads go to the process-wide ExcelTableCache, writes to ExcelResultWriter.
     public void setExcelFile(String excelPath, String sheetName) {
         LogUtils.info("Set Excel File: " + excelPath);
         LogUtils.info("Sheet Name: " + sheetName);
 
         try {
-            File f = new File(excelPath);
-
-            if (!f.exists()) {
-                try {
-                    LogUtils.info("File Excel path not found.");
-                    throw new InvalidPathForExcelException("File Excel path not found.");
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }
-            if (sheetName.isEmpty()) {
-                try {
-                    LogUtils.info("The Sheet Name is empty.");
-                    throw new InvalidPathForExcelException("The Sheet Name is empty.");
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }
-
-            fis = new FileInputStream(excelPath);
-            workbook = WorkbookFactory.create(fis);
-            sheet = workbook.getSheet(sheetName);
-            //sh = wb.getSheetAt(0); //0 - index of 1st sheet
-            if (sheet == null) {
-                //sh = wb.createSheet(sheetName);
-                try {
-                    LogUtils.info("Sheet name not found.");
-                    throw new InvalidPathForExcelException("Sheet name not found.");
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }
-
+            table = ExcelTableCache.getTable(excelPath, sheetName);
             excelFilePath = excelPath;
+            this.sheetName = sheetName;
+            workbook = null;
+            sheet = null;
 
             //adding all the column header names to the map 'columns'
-            sheet.getRow(0).forEach(cell -> {
-                columns.put(cell.getStringCellValue(), cell.getColumnIndex());
-            });
+            columns = new HashMap<>(table.getColumns());
 
         } catch (Exception e) {
-            e.getMessage();
-            LogUtils.error(e.getMessage());
+            LogUtils.error(e.getMessage(), e);
         }
     }
 
     //This method takes the row number as a parameter and returns the data for that row.
     public Row getRowData(int rowNum) {
+        openSheet();
         row = sheet.getRow(rowNum);
         return row;
     }
 
 
+    /**
+     * @return the rows after the header, one cell per parameter. vault: references are returned as written:
+     * data-provider parameters end up in the reports, so resolve them with SecretVault.resolve where they are used.
+     */
     public Object[][] getExcelData(String excelPath, String sheetName) {
         Object[][] data = null;
-        Workbook workbook = null;
 
         LogUtils.info("Set Excel file " + excelPath);
         LogUtils.info("Selected Sheet: " + sheetName);
 
         try {
+            SheetTable sheetTable = ExcelTableCache.getTable(excelPath, sheetName);
 
-            File f = new File(excelPath);
+            int noOfRows = sheetTable.getPhysicalNumberOfRows();
+            int noOfCols = sheetTable.getColumnCount();
 
-            if (!f.exists()) {
-                try {
-                    LogUtils.info("File Excel path not found.");
-                    throw new InvalidPathForExcelException("File Excel path not found.");
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }
-            if (sheetName.isEmpty()) {
-                try {
-                    LogUtils.info("The Sheet Name is empty.");
-                    throw new InvalidPathForExcelException("The Sheet Name is empty.");
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }
-
-            // load the file
-            FileInputStream fis = new FileInputStream(excelPath);
-
-            // load the workbook
-            workbook = new XSSFWorkbook(fis);
-            // load the sheet
-            Sheet sheet = workbook.getSheet(sheetName);
-            // load the row
-            Row row = sheet.getRow(0);
-
-            int noOfRows = sheet.getPhysicalNumberOfRows();
-            int noOfCols = row.getLastCellNum();
-
-            System.out.println(noOfRows + " - " + noOfCols);
+            LogUtils.info(noOfRows + " - " + noOfCols);
 
-            Cell cell;
             data = new Object[noOfRows - 1][noOfCols];
 
             //FOR loop runs from 1 to drop header line (headline is 0)
             for (int i = 1; i < noOfRows; i++) {
                 for (int j = 0; j < noOfCols; j++) {
-                    row = sheet.getRow(i);
-                    cell = row.getCell(j);
-
-                    //This is used to determine the data type from cells in Excel and then convert it to String for ease of reading
-                    switch (cell.getCellType()) {
-                        case STRING:
-                            data[i - 1][j] = cell.getStringCellValue();
-                            break;
-                        case NUMERIC:
-                            data[i - 1][j] = String.valueOf(cell.getNumericCellValue());
-                            break;
-                        case BLANK:
-                            data[i - 1][j] = "";
-                            break;
-                        default:
-                            data[i - 1][j] = null;
-                            break;
-                    }
+                    //Strings as is, numbers as double, blank as "", other types as null
+                    data[i - 1][j] = sheetTable.getRawText(i, j);
                 }
             }
         } catch (Exception e) {
-            e.getMessage();
             throw new RuntimeException(e);
         }
         return data;
     }
 
+    /**
+     * @return one SecretHashtable per row startRow..endRow, keyed by the header: vault: references are kept
+     * as written and only resolved by get(), so the reports never print the secrets.
+     */
     public Object[][] getDataHashTable(String excelPath, String sheetName, int startRow, int endRow) {
         LogUtils.info("Excel File: " + excelPath);
         LogUtils.info("Sheet Name: " + sheetName);
@@ -172,22 +108,11 @@ public class ExcelHelpers {
         Object[][] data = null;
 
         try {
-
-            File f = new File(excelPath);
-
-            if (!f.exists()) {
-                try {
-                    LogUtils.info("File Excel path not found.");
-                    throw new InvalidPathForExcelException("File Excel path not found.");
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
+            setExcelFile(excelPath, sheetName);
+            if (getTable() == null) {
+                return null;
             }
 
-            fis = new FileInputStream(excelPath);
-            workbook = new XSSFWorkbook(fis);
-            sheet = workbook.getSheet(sheetName);
-
             int rows = getRows();
             int columns = getColumns();
 
@@ -197,22 +122,146 @@ public class ExcelHelpers {
             data = new Object[(endRow - startRow) + 1][1];
             Hashtable<String, String> table = null;
             for (int rowNums = startRow; rowNums <= endRow; rowNums++) {
-                table = new Hashtable<>();
+                table = new SecretHashtable();
                 for (int colNum = 0; colNum < columns; colNum++) {
-                    table.put(getCellData(0, colNum), getCellData(rowNums, colNum));
+                    table.put(getTable().getText(0, colNum), getTable().getText(rowNums, colNum));
                 }
                 data[rowNums - startRow][0] = table;
             }
 
-        } catch (IOException e) {
-            e.printStackTrace();
-            LogUtils.error(e.getMessage());
+        } catch (Exception e) {
+            LogUtils.error(e.getMessage(), e);
         }
 
         return data;
 
     }
 
+    /**
+     * Streams the rows of a large .xlsx sheet like getExcelData, without loading the sheet in memory:
+     * rows are parsed one at a time while TestNG consumes the iterator. Rows missing from the sheet come out empty.
+     * vault: references are returned as written, as in getExcelData.
+     * A sheet already cached or snapshotted (see ExcelTableCache) is read from there instead.
+     */
+    public Iterator<Object[]> getExcelDataIterator(String excelPath, String sheetName) {
+        LogUtils.info("Stream Excel file " + excelPath);
+        LogUtils.info("Selected Sheet: " + sheetName);
+
+        SheetRows rows = SheetRows.open(excelPath, sheetName);
+        int noOfCols = rows.hasNext() ? rows.next().length : 0;
+        return mapRows(rows, 1, Integer.MAX_VALUE, cells -> {
+            Object[] data = new Object[noOfCols];
+            for (int j = 0; j < noOfCols; j++) {
+                data[j] = SheetTable.toRawText(j < cells.length ? cells[j] : null);
+            }
+            return data;
+        });
+    }
+
+    /**
+     * Streams rows startRow..endRow of a large .xlsx sheet like getDataHashTable: one SecretHashtable per row,
+     * keyed by the header. Pass Integer.MAX_VALUE as endRow to read up to the last row.
+     * Rows missing from the sheet inside the range come out with empty values, as in getDataHashTable.
+     */
+    public Iterator<Object[]> getDataHashTableIterator(String excelPath, String sheetName, int startRow, int endRow) {
+        LogUtils.info("Stream Excel File: " + excelPath);
+        LogUtils.info("Sheet Name: " + sheetName);
+        LogUtils.info("StartRow: " + startRow + " - EndRow: " + endRow);
+
+        SheetRows rows = SheetRows.open(excelPath, sheetName);
+        Object[] header = rows.hasNext() ? rows.next() : new Object[0];
+        return mapRows(rows, startRow, endRow, cells -> {
+            Hashtable<String, String> table = new SecretHashtable();
+            for (int colNum = 0; colNum < header.length; colNum++) {
+                String key = SheetTable.toText(header[colNum]);
+                String value = SheetTable.toText(colNum < cells.length ? cells[colNum] : null);
+                if (key != null) {
+                    table.put(key, value == null ? "" : value);
+                }
+            }
+            return new Object[]{table};
+        });
+    }
+
+    /**
+     * Streams rows startRow..endRow as typed DataRows: the header is read once into a SheetSchema shared by
+     * all rows, and each row is a String[] read by column index.
+     *
+     * @param modelClass the model whose ColumnKey fields are checked against the header, or null.
+     */
+    public Iterator<Object[]> getDataRowIterator(String excelPath, String sheetName, int startRow, int endRow, Class<?> modelClass) {
+        LogUtils.info("Stream Excel File: " + excelPath);
+        LogUtils.info("Sheet Name: " + sheetName);
+        LogUtils.info("StartRow: " + startRow + " - EndRow: " + endRow);
+
+        SheetRows rows = SheetRows.open(excelPath, sheetName);
+        Object[] header = rows.hasNext() ? rows.next() : new Object[0];
+        String[] names = new String[header.length];
+        for (int colNum = 0; colNum < header.length; colNum++) {
+            names[colNum] = SheetTable.toText(header[colNum]);
+        }
+        SheetSchema schema = SheetSchema.of(sheetName, names);
+        if (modelClass != null) {
+            schema.bind(modelClass);
+        }
+        return mapRows(rows, startRow, endRow, cells -> {
+            String[] values = new String[names.length];
+            for (int colNum = 0; colNum < values.length; colNum++) {
+                String value = SheetTable.toText(colNum < cells.length ? cells[colNum] : null);
+                values[colNum] = value == null ? "" : value;
+            }
+            return new Object[]{new DataRow(schema, values)};
+        });
+    }
+
+    //Lazily maps the rows startRow..endRow; the source is closed as soon as endRow is passed.
+    //Rows missing from the sheet between startRow and the last row read are mapped as empty rows, so row positions
+    //and counts match getDataHashTable; nothing is emitted past the last row of the sheet.
+    private static Iterator<Object[]> mapRows(SheetRows rows, int startRow, int endRow, Function<Object[], Object[]> mapper) {
+        return new Iterator<Object[]>() {
+            private Object[] next;
+            private Object[] pending;
+            private int pendingRowNum;
+            private int expectedRowNum = startRow;
+
+            @Override
+            public boolean hasNext() {
+                while (pending == null && rows.hasNext()) {
+                    Object[] cells = rows.next();
+                    if (rows.getRowNum() > endRow) {
+                        rows.close();
+                        break;
+                    }
+                    if (rows.getRowNum() >= startRow) {
+                        pending = cells;
+                        pendingRowNum = rows.getRowNum();
+                    }
+                }
+                if (next == null && pending != null) {
+                    if (expectedRowNum < pendingRowNum) {
+                        next = EMPTY_ROW;
+                        expectedRowNum++;
+                    } else {
+                        next = pending;
+                        pending = null;
+                        expectedRowNum = pendingRowNum + 1;
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Object[] cells = next;
+                next = null;
+                return mapper.apply(cells);
+            }
+        };
+    }
+
     public String getTestCaseName(String testCaseName) {
         String value = testCaseName;
         int position = value.indexOf("@");
@@ -223,63 +272,27 @@ public class ExcelHelpers {
         return value;
     }
 
+    //Indexed lookup, see SheetTable.findRow; returns getRows() when not found, like the former linear scan
     public int getRowContains(String sTestCaseName, int colNum) {
-        int i;
         int rowCount = getRows();
-        for (i = 0; i < rowCount; i++) {
-            if (getCellData(i, colNum).equalsIgnoreCase(sTestCaseName)) {
-                break;
-            }
-        }
-        return i;
+        int row = getTable().findRow(colNum, sTestCaseName);
+        return row < 0 || row >= rowCount ? rowCount : row;
     }
 
     public int getRows() {
-        try {
-            return sheet.getLastRowNum();
-        } catch (Exception e) {
-            System.out.println(e.getMessage());
-            throw (e);
-        }
+        return getTable().getLastRowNum();
     }
 
     public int getColumns() {
-        try {
-            row = sheet.getRow(0);
-            return row.getLastCellNum();
-        } catch (Exception e) {
-            System.out.println(e.getMessage());
-            throw (e);
-        }
+        return getTable().getColumnCount();
     }
 
-    // Get cell data
+    // Get cell data, with a vault: reference replaced by its secret
     public String getCellData(int rowNum, int colNum) {
-        try {
-            cell = sheet.getRow(rowNum).getCell(colNum);
-            String CellData = null;
-            switch (cell.getCellType()) {
-                case STRING:
-                    CellData = cell.getStringCellValue();
-                    break;
-                case NUMERIC:
-                    if (DateUtil.isCellDateFormatted(cell)) {
-                        CellData = String.valueOf(cell.getDateCellValue());
-                    } else {
-                        CellData = String.valueOf((long) cell.getNumericCellValue());
-                    }
-                    break;
-                case BOOLEAN:
-                    CellData = Boolean.toString(cell.getBooleanCellValue());
-                    break;
-                case BLANK:
-                    CellData = "";
-                    break;
-            }
-            return CellData;
-        } catch (Exception e) {
+        if (getTable() == null) {
             return "";
         }
+        return SecretVault.resolve(table.getText(rowNum, colNum));
     }
 
     public String getCellData(int rowNum, String columnName) {
@@ -291,80 +304,38 @@ public class ExcelHelpers {
     }
 
     // Write data to excel sheet
+    //Writes are queued in ExcelResultWriter and saved with the next flush, see ExcelResultWriter.flush()
     public void setCellData(String text, int rowNumber, int colNumber) {
-        try {
-            row = sheet.getRow(rowNumber);
-            if (row == null) {
-                row = sheet.createRow(rowNumber);
-            }
-            cell = row.getCell(colNumber);
-
-            if (cell == null) {
-                cell = row.createCell(colNumber);
-            }
-            cell.setCellValue(text);
-
-            XSSFCellStyle style = (XSSFCellStyle) workbook.createCellStyle();
-            text = text.trim().toLowerCase();
-            if (text == "pass" || text == "passed" || text == "success") {
-                style.setFillForegroundColor(IndexedColors.BRIGHT_GREEN.getIndex());
-            }
-            if (text == "fail" || text == "failed" || text == "failure") {
-                style.setFillForegroundColor(IndexedColors.RED.getIndex());
-            }
-            style.setFillPattern(FillPatternType.NO_FILL);
-            style.setAlignment(HorizontalAlignment.CENTER);
-            style.setVerticalAlignment(VerticalAlignment.CENTER);
-
-            cell.setCellStyle(style);
-
-            fileOut = new FileOutputStream(excelFilePath);
-            workbook.write(fileOut);
-            fileOut.flush();
-            fileOut.close();
-        } catch (Exception e) {
-            e.getMessage();
-            LogUtils.error(e.getMessage());
-        }
+        ExcelResultWriter.setCellData(excelFilePath, sheetName, rowNumber, colNumber, text);
     }
 
     public void setCellData(String text, int rowNumber, String columnName) {
-        try {
-            row = sheet.getRow(rowNumber);
-            if (row == null) {
-                row = sheet.createRow(rowNumber);
-            }
-            cell = row.getCell(columns.get(columnName));
-
-            if (cell == null) {
-                cell = row.createCell(columns.get(columnName));
-            }
-            cell.setCellValue(text);
-
-            XSSFCellStyle style = (XSSFCellStyle) workbook.createCellStyle();
-            text = text.trim().toLowerCase();
-            if (text == "pass" || text == "passed" || text == "success") {
-                style.setFillForegroundColor(IndexedColors.BRIGHT_GREEN.getIndex());
-            }
-            if (text == "fail" || text == "failed" || text == "failure") {
-                style.setFillForegroundColor(IndexedColors.RED.getIndex());
-            }
-
-            style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-            style.setAlignment(HorizontalAlignment.CENTER);
-            style.setVerticalAlignment(VerticalAlignment.CENTER);
-
-            cell.setCellStyle(style);
-
-            fileOut = new FileOutputStream(excelFilePath);
-            workbook.write(fileOut);
-            fileOut.flush();
-            fileOut.close();
-        } catch (Exception e) {
-            e.getMessage();
-            LogUtils.error(e.getMessage());
+        Integer colNumber = columns.get(columnName);
+        if (colNumber == null) {
+            LogUtils.error("Column name not found: " + columnName);
+            return;
         }
+        setCellData(text, rowNumber, colNumber);
     }
 
+    //The cached table of the current sheet
+    private SheetTable getTable() {
+        if (table == null && excelFilePath != null) {
+            table = ExcelTableCache.getTable(excelFilePath, sheetName);
+        }
+        return table;
+    }
 
+    //Opens the workbook on first use of getRowData and closes the input stream right away
+    private void openSheet() {
+        if (workbook != null) {
+            return;
+        }
+        try (FileInputStream fis = new FileInputStream(excelFilePath)) {
+            workbook = WorkbookFactory.create(fis);
+            sheet = workbook.getSheet(sheetName);
+        } catch (IOException e) {
+            throw new InvalidPathForExcelException("Cannot open Excel file: " + excelFilePath, e);
+        }
+    }
 }
@@ -0,0 +1,212 @@
+package com.assured.helpers;
+
+import com.assured.constants.FrameworkConstants;
+import com.assured.utils.LogUtils;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExcelResultWriter buffers cell writes from all test threads and saves each workbook once per flush:
+ * every EXCEL_FLUSH_SECONDS on a background thread (0 disables it) and at suite end.
+ * Writes to the same cell are coalesced, the last one wins. Until the next flush the written values
+ * are not visible to ExcelHelpers readers.
+ */
+public final class ExcelResultWriter {
+
+    private enum Status {PASS, FAIL, OTHER}
+
+    //Workbook absolute path -> pending cells; a workbook's map is only touched inside compute/remove of its key
+    private static final Map<String, Map<CellKey, String>> pending = new ConcurrentHashMap<>();
+    //Separate from the flush lock, so queuing a cell never waits for a running flush
+    private static final Object schedulerLock = new Object();
+    private static volatile ScheduledExecutorService scheduler;
+
+    private ExcelResultWriter() {
+    }
+
+    /**
+     * Queues a cell value; the workbook is written at the next flush.
+     */
+    public static void setCellData(String excelPath, String sheetName, int rowNumber, int colNumber, String text) {
+        CellKey key = new CellKey(sheetName, rowNumber, colNumber);
+        pending.compute(new File(excelPath).getAbsolutePath(), (path, cells) -> {
+            Map<CellKey, String> updates = cells == null ? new LinkedHashMap<>() : cells;
+            updates.put(key, text);
+            return updates;
+        });
+        startScheduler();
+    }
+
+    /**
+     * Writes every pending cell: each workbook is opened, updated and saved once.
+     */
+    public static synchronized void flush() {
+        for (String path : pending.keySet()) {
+            Map<CellKey, String> cells = pending.remove(path);
+            if (cells != null && !cells.isEmpty()) {
+                write(path, cells);
+            }
+        }
+    }
+
+    /**
+     * Flushes and stops the background flush; called at suite end.
+     */
+    public static void close() {
+        synchronized (schedulerLock) {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
+        }
+        flush();
+    }
+
+    private static void startScheduler() {
+        if (scheduler != null) {
+            return;
+        }
+        long interval = Long.parseLong(FrameworkConstants.EXCEL_FLUSH_SECONDS.trim());
+        if (interval <= 0) {
+            return;
+        }
+        synchronized (schedulerLock) {
+            if (scheduler != null) {
+                return;
+            }
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "excel-result-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(ExcelResultWriter::flush, interval, interval, TimeUnit.SECONDS);
+            scheduler = executor;
+        }
+    }
+
+    private static void write(String excelPath, Map<CellKey, String> cells) {
+        long start = System.nanoTime();
+        try {
+            Workbook workbook;
+            try (FileInputStream fis = new FileInputStream(excelPath)) {
+                workbook = WorkbookFactory.create(fis);
+            }
+            try (Workbook wb = workbook) {
+                Map<Status, CellStyle> styles = new EnumMap<>(Status.class);
+                for (Map.Entry<CellKey, String> update : cells.entrySet()) {
+                    CellKey key = update.getKey();
+                    Sheet sheet = wb.getSheet(key.sheet);
+                    if (sheet == null) {
+                        LogUtils.error("Sheet name not found: " + key.sheet + " (" + excelPath + ")");
+                        continue;
+                    }
+                    Row row = sheet.getRow(key.row);
+                    if (row == null) {
+                        row = sheet.createRow(key.row);
+                    }
+                    Cell cell = row.getCell(key.column);
+                    if (cell == null) {
+                        cell = row.createCell(key.column);
+                    }
+                    cell.setCellValue(update.getValue());
+                    cell.setCellStyle(styles.computeIfAbsent(getStatus(update.getValue()), status -> createStyle(wb, status)));
+                }
+                try (FileOutputStream fileOut = new FileOutputStream(excelPath)) {
+                    wb.write(fileOut);
+                }
+            }
+            ExcelTableCache.invalidate(excelPath);
+            LogUtils.info("Wrote " + cells.size() + " Excel cell(s) to " + excelPath + " in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (IOException e) {
+            LogUtils.error("Cannot write Excel file " + excelPath + ": " + e.getMessage(), e);
+            requeue(excelPath, cells);
+        }
+    }
+
+    //Puts failed cells back for the next flush, unless a newer value was queued meanwhile
+    private static void requeue(String excelPath, Map<CellKey, String> cells) {
+        pending.compute(excelPath, (path, current) -> {
+            Map<CellKey, String> updates = new LinkedHashMap<>(cells);
+            if (current != null) {
+                updates.putAll(current);
+            }
+            return updates;
+        });
+    }
+
+    private static Status getStatus(String text) {
+        String value = text == null ? "" : text.trim().toLowerCase();
+        if (value.equals("pass") || value.equals("passed") || value.equals("success")) {
+            return Status.PASS;
+        }
+        if (value.equals("fail") || value.equals("failed") || value.equals("failure")) {
+            return Status.FAIL;
+        }
+        return Status.OTHER;
+    }
+
+    //One style per status and flush, instead of one new style per written cell
+    private static CellStyle createStyle(Workbook workbook, Status status) {
+        CellStyle style = workbook.createCellStyle();
+        if (status == Status.OTHER) {
+            style.setFillPattern(FillPatternType.NO_FILL);
+        } else {
+            style.setFillForegroundColor(status == Status.PASS ? IndexedColors.BRIGHT_GREEN.getIndex() : IndexedColors.RED.getIndex());
+            style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        }
+        style.setAlignment(HorizontalAlignment.CENTER);
+        style.setVerticalAlignment(VerticalAlignment.CENTER);
+        return style;
+    }
+
+    private static final class CellKey {
+        private final String sheet;
+        private final int row;
+        private final int column;
+
+        private CellKey(String sheet, int row, int column) {
+            this.sheet = sheet;
+            this.row = row;
+            this.column = column;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CellKey)) {
+                return false;
+            }
+            CellKey key = (CellKey) o;
+            return row == key.row && column == key.column && sheet.equals(key.sheet);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sheet, row, column);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.assured.helpers;
+
+import com.assured.exceptions.InvalidPathForExcelException;
+import com.assured.utils.LogUtils;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * ExcelStreamReader reads the rows of one .xlsx sheet one at a time, straight from the sheet XML,
+ * without building the POI object model. Only the shared strings table and the current row are held
+ * in memory, so sheets with many thousands of rows can feed a data provider lazily.
+ * Cells are typed as in SheetTable; formulas are returned as CellType.FORMULA, not evaluated.
+ * The reader closes itself after the last row; close it explicitly when stopping early.
+ */
+public final class ExcelStreamReader implements SheetRows {
+
+    private static final XMLInputFactory XML_FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        XML_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private final String excelPath;
+    private final String sheetName;
+    private final long start = System.nanoTime();
+    private final OPCPackage pkg;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final StylesTable styles;
+    private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+    private InputStream sheetStream;
+    private XMLStreamReader xml;
+    private Object[] nextRow;
+    private int nextRowNum = -1;
+    private int rowNum = -1;
+    private int rowCount;
+    private boolean closed;
+
+    private ExcelStreamReader(String excelPath, String sheetName) {
+        this.excelPath = excelPath;
+        this.sheetName = sheetName;
+        File file = new File(excelPath);
+        if (!file.exists()) {
+            throw new InvalidPathForExcelException("File Excel path not found: " + excelPath);
+        }
+        if (sheetName == null || sheetName.isEmpty()) {
+            throw new InvalidPathForExcelException("The Sheet Name is empty.");
+        }
+        try {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+        } catch (Exception e) {
+            throw new InvalidPathForExcelException("Cannot read Excel file: " + excelPath, e);
+        }
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            styles = reader.getStylesTable();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                InputStream stream = sheets.next();
+                if (sheetName.equals(sheets.getSheetName())) {
+                    sheetStream = stream;
+                    break;
+                }
+                stream.close();
+            }
+            if (sheetStream == null) {
+                throw new InvalidPathForExcelException("Sheet name not found: " + sheetName);
+            }
+            xml = XML_FACTORY.createXMLStreamReader(sheetStream);
+        } catch (IOException | OpenXML4JException | SAXException | XMLStreamException e) {
+            close();
+            throw new InvalidPathForExcelException("Cannot read Excel file: " + excelPath, e);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a sheet for streaming. Row 0 (the header) is the first row returned.
+     *
+     * @param excelPath the path of the .xlsx workbook.
+     * @param sheetName the sheet name.
+     * @return the reader, positioned before the first row.
+     * @throws InvalidPathForExcelException if the file or the sheet does not exist or cannot be read.
+     */
+    public static ExcelStreamReader open(String excelPath, String sheetName) {
+        return new ExcelStreamReader(excelPath, sheetName);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextRow == null && !closed) {
+            readRow();
+        }
+        return nextRow != null;
+    }
+
+    /**
+     * @return the typed cells of the next row that exists in the sheet; missing cells are null.
+     */
+    @Override
+    public Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object[] row = nextRow;
+        rowNum = nextRowNum;
+        nextRow = null;
+        return row;
+    }
+
+    @Override
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        nextRow = null;
+        try {
+            if (xml != null) {
+                xml.close();
+            }
+            if (sheetStream != null) {
+                sheetStream.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            LogUtils.warn("Cannot close Excel sheet stream: " + e.getMessage());
+        }
+        // Read-only package: revert() releases the file without trying to save it.
+        pkg.revert();
+        LogUtils.info("Streamed " + rowCount + " rows of Excel sheet '" + sheetName + "' in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private void readRow() {
+        try {
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                    String ref = xml.getAttributeValue(null, "r");
+                    nextRowNum = ref == null ? nextRowNum + 1 : Integer.parseInt(ref) - 1;
+                    nextRow = readCells();
+                    rowCount++;
+                    return;
+                }
+                if (event == XMLStreamConstants.END_ELEMENT && "sheetData".equals(xml.getLocalName())) {
+                    break;
+                }
+            }
+        } catch (XMLStreamException e) {
+            close();
+            throw new InvalidPathForExcelException("Cannot read Excel sheet '" + sheetName + "' of " + excelPath, e);
+        }
+        close();
+    }
+
+    //Reads the <c> elements of the current <row> into a list indexed by column
+    private Object[] readCells() throws XMLStreamException {
+        List<Object> cells = new ArrayList<>();
+        int column = -1;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                break;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                String ref = xml.getAttributeValue(null, "r");
+                column = ref == null ? column + 1 : getColumnIndex(ref);
+                while (cells.size() <= column) {
+                    cells.add(null);
+                }
+                cells.set(column, readCell(xml.getAttributeValue(null, "t"), xml.getAttributeValue(null, "s")));
+            }
+        }
+        return cells.toArray();
+    }
+
+    //Reads one <c> element up to its end tag
+    private Object readCell(String type, String style) throws XMLStreamException {
+        String value = null;
+        StringBuilder inline = null;
+        boolean formula = false;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            switch (xml.getLocalName()) {
+                case "v":
+                    value = xml.getElementText();
+                    break;
+                case "f":
+                    formula = true;
+                    break;
+                case "t":
+                    if (inline == null) {
+                        inline = new StringBuilder();
+                    }
+                    inline.append(xml.getElementText());
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (formula) {
+            return CellType.FORMULA;
+        }
+        if ("inlineStr".equals(type)) {
+            return inline == null ? "" : inline.toString();
+        }
+        if (value == null) {
+            return "";
+        }
+        if ("s".equals(type)) {
+            return sharedStrings.getItemAt(Integer.parseInt(value)).getString();
+        }
+        if ("str".equals(type)) {
+            return value;
+        }
+        if ("b".equals(type)) {
+            return "1".equals(value);
+        }
+        if ("e".equals(type)) {
+            return CellType.ERROR;
+        }
+        double number = Double.parseDouble(value);
+        if (style != null && isDateStyle(Integer.parseInt(style)) && DateUtil.isValidExcelDate(number)) {
+            return DateUtil.getJavaDate(number);
+        }
+        return number;
+    }
+
+    private boolean isDateStyle(int styleIndex) {
+        return dateStyles.computeIfAbsent(styleIndex, index -> {
+            if (styles == null || index >= styles.getNumCellStyles()) {
+                return false;
+            }
+            XSSFCellStyle cellStyle = styles.getStyleAt(index);
+            return DateUtil.isADateFormat(cellStyle.getDataFormat(), cellStyle.getDataFormatString());
+        });
+    }
+
+    //"AB12" -> 27
+    private static int getColumnIndex(String cellRef) {
+        int column = 0;
+        for (int i = 0; i < cellRef.length(); i++) {
+            char c = cellRef.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+}
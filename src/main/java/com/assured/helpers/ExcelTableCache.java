@@ -0,0 +1,184 @@
+package com.assured.helpers;
+
+import com.assured.constants.FrameworkConstants;
+import com.assured.exceptions.InvalidPathForExcelException;
+import com.assured.utils.LogUtils;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ExcelTableCache parses each (file, sheet) once per process into an immutable SheetTable.
+ * An entry is re-read when the file's modification time or size changes, so edits made between runs
+ * or by ExcelResultWriter flushes are picked up; concurrent readers of the same sheet parse it only once.
+ * With EXCEL_SNAPSHOT=yes a sheet is first looked up in its SheetSnapshot, keyed by the workbook content hash;
+ * when POI has to parse the workbook, every sheet of it is snapshotted for the next run.
+ */
+public final class ExcelTableCache {
+
+    private static final Map<Key, Entry> cache = new ConcurrentHashMap<>();
+
+    private ExcelTableCache() {
+    }
+
+    /**
+     * Returns the cached table of a sheet, parsing the workbook if the sheet is not cached or the file changed.
+     *
+     * @param excelPath the path of the workbook.
+     * @param sheetName the sheet name.
+     * @return the table of the sheet.
+     * @throws InvalidPathForExcelException if the file or the sheet does not exist.
+     */
+    public static SheetTable getTable(String excelPath, String sheetName) {
+        File file = new File(excelPath);
+        if (!file.exists()) {
+            throw new InvalidPathForExcelException("File Excel path not found: " + excelPath);
+        }
+        if (sheetName == null || sheetName.isEmpty()) {
+            throw new InvalidPathForExcelException("The Sheet Name is empty.");
+        }
+        Key key = new Key(file.getAbsolutePath(), sheetName);
+        long lastModified = file.lastModified();
+        long length = file.length();
+        return cache.compute(key, (k, entry) -> {
+            if (entry != null && entry.lastModified == lastModified && entry.length == length) {
+                return entry;
+            }
+            return new Entry(load(file, sheetName), lastModified, length);
+        }).table;
+    }
+
+    /**
+     * Returns the table of a sheet only if it is available without parsing the workbook: cached in memory
+     * or in a fresh snapshot. Used by the streaming readers, which are cheaper than POI but not than a snapshot.
+     *
+     * @return the table, or null.
+     */
+    public static SheetTable getTableIfCached(String excelPath, String sheetName) {
+        File file = new File(excelPath);
+        if (!file.exists() || sheetName == null || sheetName.isEmpty()) {
+            return null;
+        }
+        Key key = new Key(file.getAbsolutePath(), sheetName);
+        long lastModified = file.lastModified();
+        long length = file.length();
+        Entry cached = cache.compute(key, (k, entry) -> {
+            if (entry != null && entry.lastModified == lastModified && entry.length == length) {
+                return entry;
+            }
+            SheetTable table = readSnapshot(file, hashIfSnapshotEnabled(file), sheetName);
+            return table == null ? null : new Entry(table, lastModified, length);
+        });
+        return cached == null ? null : cached.table;
+    }
+
+    /**
+     * Drops every cached sheet of a workbook, e.g. after writing to it.
+     *
+     * @param excelPath the path of the workbook.
+     */
+    public static void invalidate(String excelPath) {
+        String path = new File(excelPath).getAbsolutePath();
+        cache.keySet().removeIf(key -> key.path.equals(path));
+    }
+
+    private static SheetTable load(File file, String sheetName) {
+        String hash = hashIfSnapshotEnabled(file);
+        SheetTable snapshot = readSnapshot(file, hash, sheetName);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        long start = System.nanoTime();
+        // Read-only: POI does not keep the file open or copy it for writing.
+        try (Workbook workbook = WorkbookFactory.create(file, null, true)) {
+            Sheet sheet = workbook.getSheet(sheetName);
+            if (sheet == null) {
+                throw new InvalidPathForExcelException("Sheet name not found: " + sheetName);
+            }
+            SheetTable table = SheetTable.of(sheet);
+            LogUtils.info("Cached Excel sheet '" + sheetName + "' of " + file.getName() + " (" + (table.getLastRowNum() + 1)
+                    + " rows) in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            if (hash != null) {
+                // The workbook is already parsed: snapshot all of its sheets, not only the requested one.
+                for (Sheet other : workbook) {
+                    SheetTable otherTable = other == sheet ? table : SheetTable.of(other);
+                    SheetSnapshot.write(FrameworkConstants.EXCEL_SNAPSHOT_PATH, file, hash, other.getSheetName(), otherTable);
+                }
+            }
+            return table;
+        } catch (IOException e) {
+            throw new InvalidPathForExcelException("Cannot read Excel file: " + file.getPath(), e);
+        }
+    }
+
+    //The content hash that keys the snapshots, or null if snapshots are disabled or the file cannot be read
+    private static String hashIfSnapshotEnabled(File file) {
+        if (!FrameworkConstants.YES.equalsIgnoreCase(FrameworkConstants.EXCEL_SNAPSHOT)) {
+            return null;
+        }
+        try {
+            return SheetSnapshot.hash(file);
+        } catch (IOException e) {
+            LogUtils.warn("Cannot hash Excel file " + file.getPath() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static SheetTable readSnapshot(File file, String hash, String sheetName) {
+        if (hash == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        SheetTable table = SheetSnapshot.read(SheetSnapshot.getPath(FrameworkConstants.EXCEL_SNAPSHOT_PATH, file, hash, sheetName));
+        if (table != null) {
+            LogUtils.info("Loaded Excel snapshot of sheet '" + sheetName + "' of " + file.getName() + " ("
+                    + (table.getLastRowNum() + 1) + " rows) in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+        return table;
+    }
+
+    private static final class Key {
+        private final String path;
+        private final String sheet;
+
+        private Key(String path, String sheet) {
+            this.path = path;
+            this.sheet = sheet;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return path.equals(key.path) && sheet.equals(key.sheet);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, sheet);
+        }
+    }
+
+    private static final class Entry {
+        private final SheetTable table;
+        private final long lastModified;
+        private final long length;
+
+        private Entry(SheetTable table, long lastModified, long length) {
+            this.table = table;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+    }
+}
@@ -1,39 +1,28 @@
 package com.assured.helpers;
 
-import com.jayway.jsonpath.DocumentContext;
-import com.jayway.jsonpath.JsonPath;
-
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.IOException;
+import com.assured.data.JsonDataStore;
 
 public class JsonHelpers {
-    //Json Path
-    private BufferedReader bufferedReader;
-    private StringBuffer stringBuffer;
-    private DocumentContext jsonContext;
-    private String lines;
-    private String jsonFilePathDefault = SystemHelpers.getCurrentDir() + "src/test/resources/datajson/store.json";
+    //Json Path: the parsed document is shared with every other reader of the same file, see JsonDataStore
+    private JsonDataStore jsonStore;
+    private String jsonFilePathDefault = "src/test/resources/datajson/store.json";
 
     public void setJsonFile(String jsonPath) {
-        try {
-            bufferedReader = new BufferedReader(new FileReader(SystemHelpers.getCurrentDir() + jsonPath));
-            stringBuffer = new StringBuffer();
-            while ((lines = bufferedReader.readLine()) != null) {
-                stringBuffer.append(lines);
-            }
-            jsonContext = JsonPath.parse(stringBuffer.toString());
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        jsonStore = JsonDataStore.of(jsonPath);
     }
 
     public Object getData(String key) {
-        //JsonPath.read(getJsonDataSourceString(), key);
-        return jsonContext.read(key);
+        if (jsonStore == null) {
+            setJsonFile(jsonFilePathDefault);
+        }
+        return jsonStore.read(key);
+    }
+
+    public <T> T getData(String key, Class<T> type) {
+        if (jsonStore == null) {
+            setJsonFile(jsonFilePathDefault);
+        }
+        return jsonStore.read(key, type);
     }
 
 }
@@ -1,115 +1,47 @@
-
-
 package com.assured.helpers;
 
-import com.assured.utils.LogUtils;
+import com.assured.config.ConfigService;
 
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.util.LinkedList;
 import java.util.Properties;
 
+/**
+ * PropertiesHelpers reads and writes the framework configuration through ConfigService,
+ * which loads the properties files once and shares an immutable snapshot of them.
+ */
 public class PropertiesHelpers {
 
-    private static Properties properties;
-    private static String linkFile;
-    private static FileInputStream file;
-    private static FileOutputStream out;
-    private static String relPropertiesFilePathDefault = "src/test/resources/config/config.properties";
-
+    /**
+     * @return all configured values. The files are read on first use only, see ConfigService.reload().
+     */
     public static Properties loadAllFiles() {
-        LinkedList<String> files = new LinkedList<>();
-        // Add tất cả file Properties vào đây theo mẫu
-        files.add("src/test/resources/config/config.properties");
-        files.add("src/test/resources/config/data.properties");
-        files.add("src/test/resources/objects/crm_locators.properties");
-
-        try {
-            properties = new Properties();
-
-            for (String f : files) {
-                Properties tempProp = new Properties();
-                linkFile = SystemHelpers.getCurrentDir() + f;
-                file = new FileInputStream(linkFile);
-                tempProp.load(file);
-                properties.putAll(tempProp);
-            }
-            file.close();
-            LogUtils.info("Loaded all properties files.");
-            //LogUtils.info(properties);
-            return properties;
-        } catch (IOException e) {
-            LogUtils.info("Warning !! Can not Load All File.");
-            return new Properties();
-        }
+        return ConfigService.get().toProperties();
     }
 
     public static Properties getProperties() {
-        return properties;
+        return ConfigService.get().toProperties();
     }
 
+    /**
+     * Adds a properties file on top of the configured ones.
+     */
     public static void setFile(String relPropertiesFilePath) {
-        properties = new Properties();
-        try {
-            linkFile = SystemHelpers.getCurrentDir() + relPropertiesFilePath;
-            file = new FileInputStream(linkFile);
-            properties.load(file);
-            file.close();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        ConfigService.addFile(relPropertiesFilePath);
     }
 
     public static void setDefaultFile() {
-        properties = new Properties();
-        try {
-            linkFile = SystemHelpers.getCurrentDir() + relPropertiesFilePathDefault;
-            file = new FileInputStream(linkFile);
-            properties.load(file);
-            file.close();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        ConfigService.reload();
     }
 
+    /**
+     * Sets a value for the rest of the run. The properties file is written on ConfigService.flush(),
+     * once for all the values set, at the end of the suite.
+     */
     public static void setValue(String key, String keyValue) {
-        try {
-            if (file == null) {
-                properties = new Properties();
-                file = new FileInputStream(SystemHelpers.getCurrentDir() + relPropertiesFilePathDefault);
-                properties.load(file);
-                file.close();
-                out = new FileOutputStream(SystemHelpers.getCurrentDir() + relPropertiesFilePathDefault);
-            }
-            //Write to the same Prop file as the extracted file
-            out = new FileOutputStream(linkFile);
-            System.out.println(linkFile);
-            properties.setProperty(key, keyValue);
-            properties.store(out, "Set value to properties file success.");
-            out.close();
-        } catch (Exception e) {
-            System.out.println(e.getMessage());
-        }
+        ConfigService.setValue(key, keyValue);
     }
+
     public static String getValue(String key) {
-        String keyValue = null;
-        try {
-            if (file == null && properties == null) {
-                properties = new Properties();
-                linkFile = SystemHelpers.getCurrentDir() + relPropertiesFilePathDefault;
-                file = new FileInputStream(linkFile);
-                properties.load(file);
-                file.close();
-            }
-            // Get value from file
-            keyValue = properties.getProperty(key);
-            return keyValue;
-            //return keyValue;
-        } catch (Exception e) {
-            System.out.println(e.getMessage());
-            return keyValue;
-        }
+        return ConfigService.get().getString(key);
     }
 
 }
@@ -0,0 +1,79 @@
+package com.assured.helpers;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * SheetRows iterates the typed cells (see SheetTable) of the rows that exist in a sheet, header first.
+ * Rows missing from the sheet are skipped, so getRowNum() may jump.
+ */
+public interface SheetRows extends Iterator<Object[]>, Closeable {
+
+    /**
+     * @return the index of the row last returned by next(), as Row.getRowNum().
+     */
+    int getRowNum();
+
+    /**
+     * Releases the workbook; further calls to hasNext() return false.
+     */
+    @Override
+    void close();
+
+    /**
+     * Opens the rows of a sheet from the cached table or a fresh snapshot when there is one
+     * (see ExcelTableCache), else streams them from the workbook with ExcelStreamReader.
+     */
+    static SheetRows open(String excelPath, String sheetName) {
+        SheetTable cached = ExcelTableCache.getTableIfCached(excelPath, sheetName);
+        if (cached != null) {
+            return new TableRows(cached);
+        }
+        return ExcelStreamReader.open(excelPath, sheetName);
+    }
+
+    /**
+     * Rows of a SheetTable.
+     */
+    final class TableRows implements SheetRows {
+        private final SheetTable table;
+        private int rowNum = -1;
+        private int nextRowNum = -1;
+
+        TableRows(SheetTable table) {
+            this.table = table;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextRowNum <= rowNum) {
+                nextRowNum = rowNum + 1;
+                while (nextRowNum <= table.getLastRowNum() && table.getRow(nextRowNum).length == 0) {
+                    nextRowNum++;
+                }
+            }
+            return nextRowNum <= table.getLastRowNum();
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            rowNum = nextRowNum;
+            return table.getRow(rowNum);
+        }
+
+        @Override
+        public int getRowNum() {
+            return rowNum;
+        }
+
+        @Override
+        public void close() {
+            rowNum = table.getLastRowNum();
+            nextRowNum = rowNum;
+        }
+    }
+}
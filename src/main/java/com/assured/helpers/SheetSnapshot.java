@@ -0,0 +1,271 @@
+package com.assured.helpers;
+
+import com.assured.utils.LogUtils;
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SheetSnapshot stores a parsed SheetTable as a compact binary file, so the next run can skip POI entirely.
+ * A snapshot is named after the workbook, the SHA-256 of its content and the sheet, so it is fresh exactly
+ * as long as the workbook bytes are unchanged; snapshots of older content are deleted when a new one is written.
+ * <p>
+ * Layout (big endian): magic, version, physical row count, row count, string count, strings
+ * (length + UTF-8 bytes), row offsets (one per row, plus the end offset) relative to the start of the
+ * cell data, then per row the cell count and the cells (one tag byte, then a string index, a double
+ * or the epoch millis of a date).
+ */
+public final class SheetSnapshot {
+
+    private static final int MAGIC = 0x534E4150; // "SNAP"
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".snap";
+
+    private static final byte TAG_MISSING = 0;
+    private static final byte TAG_BLANK = 1;
+    private static final byte TAG_STRING = 2;
+    private static final byte TAG_NUMBER = 3;
+    private static final byte TAG_DATE = 4;
+    private static final byte TAG_TRUE = 5;
+    private static final byte TAG_FALSE = 6;
+    private static final byte TAG_CELL_TYPE = 7;
+
+    private static final CellType[] CELL_TYPES = CellType.values();
+
+    private SheetSnapshot() {
+    }
+
+    /**
+     * @return the SHA-256 of the file content, in hex.
+     */
+    public static String hash(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * @return the snapshot file of a sheet for the given workbook content hash.
+     */
+    public static Path getPath(String folder, File workbook, String contentHash, String sheetName) {
+        return Paths.get(folder, workbook.getName() + "." + contentHash + "." + sanitize(sheetName) + EXTENSION);
+    }
+
+    /**
+     * Memory-maps a snapshot and decodes it.
+     *
+     * @return the table, or null if the snapshot does not exist or cannot be read (it is then rebuilt from the workbook).
+     */
+    public static SheetTable read(Path snapshot) {
+        if (!Files.isRegularFile(snapshot)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            int physicalRows = buffer.getInt();
+            int rowCount = buffer.getInt();
+
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            int[] offsets = new int[rowCount + 1];
+            for (int i = 0; i <= rowCount; i++) {
+                offsets[i] = buffer.getInt();
+            }
+            int cellsStart = buffer.position();
+
+            Object[][] rows = new Object[rowCount][];
+            for (int r = 0; r < rowCount; r++) {
+                buffer.position(cellsStart + offsets[r]);
+                rows[r] = readRow(buffer, strings);
+            }
+            return SheetTable.of(rows, physicalRows);
+        } catch (IOException | RuntimeException e) {
+            LogUtils.warn("Ignoring unreadable Excel snapshot " + snapshot + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the snapshot of a sheet atomically (temporary file, then move), so concurrent runs never read
+     * a partial file. Snapshots of the same workbook and sheet built from other content are deleted.
+     */
+    public static void write(String folder, File workbook, String contentHash, String sheetName, SheetTable table) {
+        Path snapshot = getPath(folder, workbook, contentHash, sheetName);
+        try {
+            Files.createDirectories(snapshot.getParent());
+            Path temp = Files.createTempFile(snapshot.getParent(), snapshot.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                out.write(encode(table));
+            }
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            deleteOtherVersions(snapshot.getParent(), workbook, contentHash, sheetName);
+        } catch (IOException e) {
+            LogUtils.warn("Cannot write Excel snapshot " + snapshot + ": " + e.getMessage());
+        }
+    }
+
+    private static byte[] encode(SheetTable table) throws IOException {
+        int rowCount = table.getLastRowNum() + 1;
+        Map<String, Integer> stringIndex = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+
+        ByteArrayOutputStream cellBytes = new ByteArrayOutputStream();
+        DataOutputStream cells = new DataOutputStream(cellBytes);
+        int[] offsets = new int[rowCount + 1];
+        for (int r = 0; r < rowCount; r++) {
+            offsets[r] = cells.size();
+            Object[] row = table.getRow(r);
+            cells.writeInt(row.length);
+            for (Object value : row) {
+                writeCell(cells, value, stringIndex, strings);
+            }
+        }
+        offsets[rowCount] = cells.size();
+        cells.flush();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(cellBytes.size() + 1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(table.getPhysicalNumberOfRows());
+        out.writeInt(rowCount);
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        }
+        for (int offset : offsets) {
+            out.writeInt(offset);
+        }
+        cellBytes.writeTo(out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeCell(DataOutputStream out, Object value, Map<String, Integer> stringIndex,
+                                  List<String> strings) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_MISSING);
+        } else if ("".equals(value)) {
+            out.writeByte(TAG_BLANK);
+        } else if (value instanceof String) {
+            out.writeByte(TAG_STRING);
+            out.writeInt(stringIndex.computeIfAbsent((String) value, key -> {
+                strings.add(key);
+                return strings.size() - 1;
+            }));
+        } else if (value instanceof Double) {
+            out.writeByte(TAG_NUMBER);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Date) {
+            out.writeByte(TAG_DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+        } else {
+            out.writeByte(TAG_CELL_TYPE);
+            out.writeByte(((CellType) value).ordinal());
+        }
+    }
+
+    private static Object[] readRow(ByteBuffer buffer, String[] strings) {
+        Object[] row = new Object[buffer.getInt()];
+        for (int c = 0; c < row.length; c++) {
+            byte tag = buffer.get();
+            switch (tag) {
+                case TAG_MISSING:
+                    break;
+                case TAG_BLANK:
+                    row[c] = "";
+                    break;
+                case TAG_STRING:
+                    row[c] = strings[buffer.getInt()];
+                    break;
+                case TAG_NUMBER:
+                    row[c] = buffer.getDouble();
+                    break;
+                case TAG_DATE:
+                    row[c] = new Date(buffer.getLong());
+                    break;
+                case TAG_TRUE:
+                    row[c] = Boolean.TRUE;
+                    break;
+                case TAG_FALSE:
+                    row[c] = Boolean.FALSE;
+                    break;
+                case TAG_CELL_TYPE:
+                    row[c] = CELL_TYPES[buffer.get()];
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown cell tag " + tag);
+            }
+        }
+        return row;
+    }
+
+    //Same workbook and sheet, other content hash: <workbook>.<hash>.<sheet>.snap
+    private static void deleteOtherVersions(Path folder, File workbook, String contentHash, String sheetName) throws IOException {
+        String prefix = workbook.getName() + ".";
+        String suffix = "." + sanitize(sheetName) + EXTENSION;
+        int length = prefix.length() + contentHash.length() + suffix.length();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.length() == length && name.startsWith(prefix) && name.endsWith(suffix)
+                        && !name.contains(contentHash)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static String sanitize(String sheetName) {
+        return sheetName.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+}
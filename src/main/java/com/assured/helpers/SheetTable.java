@@ -0,0 +1,207 @@
+package com.assured.helpers;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SheetTable is an immutable in-memory copy of one Excel sheet, safe to share between test threads.
+ * Cells keep their type: String, Double, Date (date formatted numbers), Boolean, "" for blank cells,
+ * the CellType for formula and error cells, and null for missing cells.
+ */
+public final class SheetTable {
+
+    private static final Object[] MISSING_ROW = new Object[0];
+
+    private final Object[][] rows;
+    private final int physicalRows;
+    private final Map<String, Integer> columns;
+    //Column -> lower-cased text -> first row, built on first lookup
+    private final Map<Integer, Map<String, Integer>> textIndexes = new ConcurrentHashMap<>();
+
+    private SheetTable(Object[][] rows, int physicalRows, Map<String, Integer> columns) {
+        this.rows = rows;
+        this.physicalRows = physicalRows;
+        this.columns = columns;
+    }
+
+    /**
+     * Copies every row of the sheet; row 0 is the header.
+     */
+    static SheetTable of(Sheet sheet) {
+        int lastRow = sheet.getLastRowNum();
+        Object[][] rows = new Object[lastRow + 1][];
+        for (int r = 0; r <= lastRow; r++) {
+            Row row = sheet.getRow(r);
+            if (row == null || row.getLastCellNum() < 0) {
+                rows[r] = MISSING_ROW;
+                continue;
+            }
+            Object[] values = new Object[row.getLastCellNum()];
+            for (int c = 0; c < values.length; c++) {
+                values[c] = readCell(row.getCell(c));
+            }
+            rows[r] = values;
+        }
+        return of(rows, sheet.getPhysicalNumberOfRows());
+    }
+
+    /**
+     * Wraps already typed rows, e.g. read back from a SheetSnapshot; the array is not copied.
+     */
+    static SheetTable of(Object[][] rows, int physicalRows) {
+        Map<String, Integer> columns = new HashMap<>();
+        if (rows.length > 0) {
+            for (int c = 0; c < rows[0].length; c++) {
+                if (rows[0][c] instanceof String) {
+                    columns.put((String) rows[0][c], c);
+                }
+            }
+        }
+        return new SheetTable(rows, physicalRows, Collections.unmodifiableMap(columns));
+    }
+
+    /**
+     * @return the typed cells of a row, without copy; an empty array for a missing row.
+     */
+    Object[] getRow(int rowNum) {
+        return rows[rowNum];
+    }
+
+    private static Object readCell(Cell cell) {
+        if (cell == null) {
+            return null;
+        }
+        switch (cell.getCellType()) {
+            case STRING:
+                return cell.getStringCellValue();
+            case NUMERIC:
+                return DateUtil.isCellDateFormatted(cell) ? cell.getDateCellValue() : cell.getNumericCellValue();
+            case BOOLEAN:
+                return cell.getBooleanCellValue();
+            case BLANK:
+                return "";
+            default:
+                return cell.getCellType();
+        }
+    }
+
+    /**
+     * @return the index of the last row, as Sheet.getLastRowNum().
+     */
+    public int getLastRowNum() {
+        return rows.length - 1;
+    }
+
+    /**
+     * @return the number of rows that exist in the sheet, as Sheet.getPhysicalNumberOfRows().
+     */
+    public int getPhysicalNumberOfRows() {
+        return physicalRows;
+    }
+
+    /**
+     * @return the number of cells of the header row, as Row.getLastCellNum().
+     */
+    public int getColumnCount() {
+        return rows.length == 0 ? 0 : rows[0].length;
+    }
+
+    /**
+     * @return the header names mapped to their column index.
+     */
+    public Map<String, Integer> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return the typed cell value, or null if the row or cell does not exist.
+     */
+    public Object getValue(int rowNum, int colNum) {
+        if (rowNum < 0 || rowNum >= rows.length || colNum < 0 || colNum >= rows[rowNum].length) {
+            return null;
+        }
+        return rows[rowNum][colNum];
+    }
+
+    /**
+     * Finds a row by the text of one of its cells, ignoring case, with a hash index of the column
+     * built on the first lookup.
+     *
+     * @return the first row (header included) whose cell text equals the text, or -1.
+     */
+    public int findRow(int colNum, String text) {
+        if (text == null) {
+            return -1;
+        }
+        Map<String, Integer> index = textIndexes.computeIfAbsent(colNum, column -> {
+            Map<String, Integer> rowsByText = new HashMap<>();
+            for (int r = 0; r < rows.length; r++) {
+                String cell = getText(r, column);
+                if (cell != null) {
+                    rowsByText.putIfAbsent(cell.toLowerCase(Locale.ROOT), r);
+                }
+            }
+            return rowsByText;
+        });
+        Integer row = index.get(text.toLowerCase(Locale.ROOT));
+        return row == null ? -1 : row;
+    }
+
+    /**
+     * Formats a cell like ExcelHelpers.getCellData: whole numbers, Date.toString() for dates,
+     * "" for blank or missing cells and null for formula or error cells.
+     */
+    public String getText(int rowNum, int colNum) {
+        return toText(getValue(rowNum, colNum));
+    }
+
+    /**
+     * Formats a cell like ExcelHelpers.getExcelData: numbers (dates included) as double, "" for blank cells
+     * and null for other cell types.
+     */
+    public String getRawText(int rowNum, int colNum) {
+        return toRawText(getValue(rowNum, colNum));
+    }
+
+    /**
+     * Formats a typed cell value the way getText does.
+     */
+    public static String toText(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Double) {
+            return String.valueOf(((Double) value).longValue());
+        }
+        if (value instanceof CellType) {
+            return null;
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * Formats a typed cell value the way getRawText does.
+     */
+    public static String toRawText(Object value) {
+        if (value instanceof String) {
+            return (String) value;
+        }
+        if (value instanceof Double) {
+            return String.valueOf(value);
+        }
+        if (value instanceof Date) {
+            return String.valueOf(DateUtil.getExcelDate((Date) value));
+        }
+        return null;
+    }
+}
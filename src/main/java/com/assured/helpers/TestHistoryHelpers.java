@@ -0,0 +1,239 @@
+package com.assured.helpers;
+
+import com.assured.constants.FrameworkConstants;
+import com.assured.utils.LogUtils;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TestHistoryHelpers keeps per-test execution history across runs.
+ * Entries are keyed by test id (qualified method name, plus a parameter hash for data-provider rows)
+ * and persisted as JSON under TEST_HISTORY_PATH.
+ */
+public final class TestHistoryHelpers {
+
+    // Weight of the newest sample in the moving average.
+    private static final double SMOOTHING = 0.3;
+    // Outcomes needed before a flakiness score is trusted.
+    private static final int MIN_OUTCOMES = 3;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final Map<String, TestHistoryEntry> HISTORY = load();
+
+    private TestHistoryHelpers() {
+    }
+
+    /**
+     * Returns the expected duration of a test based on its history.
+     *
+     * @param testId the test id.
+     * @return the smoothed duration in milliseconds, or -1 if the test has never been recorded.
+     */
+    public static long getExpectedDuration(String testId) {
+        TestHistoryEntry entry = HISTORY.get(testId);
+        return entry == null ? -1 : Math.round(entry.getAverageDurationMillis());
+    }
+
+    /**
+     * Records the duration of one finished test execution.
+     *
+     * @param testId         the test id.
+     * @param durationMillis the measured duration in milliseconds.
+     */
+    public static void recordDuration(String testId, long durationMillis) {
+        HISTORY.compute(testId, (key, entry) -> {
+            if (entry == null) {
+                entry = new TestHistoryEntry();
+                entry.setAverageDurationMillis(durationMillis);
+            } else {
+                entry.setAverageDurationMillis(SMOOTHING * durationMillis + (1 - SMOOTHING) * entry.getAverageDurationMillis());
+            }
+            entry.setLastDurationMillis(durationMillis);
+            entry.setRuns(entry.getRuns() + 1);
+            return entry;
+        });
+    }
+
+    /**
+     * Records the final outcome of one test execution and updates its flakiness score.
+     * An outcome counts as unstable when it differs from the previous one (a pass/fail flip)
+     * or when the test only passed on retry; the score is the moving average of unstable outcomes.
+     *
+     * @param testId        the test id.
+     * @param passed        whether the test passed.
+     * @param passedOnRetry whether the pass needed a retry.
+     */
+    public static void recordOutcome(String testId, boolean passed, boolean passedOnRetry) {
+        String status = passed ? "PASS" : "FAIL";
+        HISTORY.compute(testId, (key, entry) -> {
+            if (entry == null) {
+                entry = new TestHistoryEntry();
+            }
+            boolean flip = entry.getLastStatus() != null && !entry.getLastStatus().equals(status);
+            if (flip) {
+                entry.setFlips(entry.getFlips() + 1);
+            }
+            if (passedOnRetry) {
+                entry.setRetryPasses(entry.getRetryPasses() + 1);
+            }
+            double sample = flip || passedOnRetry ? 1 : 0;
+            entry.setFlakinessScore(entry.getOutcomes() == 0
+                    ? sample
+                    : SMOOTHING * sample + (1 - SMOOTHING) * entry.getFlakinessScore());
+            entry.setOutcomes(entry.getOutcomes() + 1);
+            entry.setLastStatus(status);
+            return entry;
+        });
+    }
+
+    /**
+     * @param testId the test id.
+     * @return the flakiness score between 0 (stable) and 1 (flips every run), or 0 if the test is unknown.
+     */
+    public static double getFlakinessScore(String testId) {
+        TestHistoryEntry entry = HISTORY.get(testId);
+        return entry == null ? 0 : entry.getFlakinessScore();
+    }
+
+    /**
+     * A test is flaky when it has enough recorded outcomes and its score reaches FLAKY_SCORE_THRESHOLD.
+     *
+     * @param testId the test id.
+     * @return true if the test should be quarantined.
+     */
+    public static boolean isFlaky(String testId) {
+        TestHistoryEntry entry = HISTORY.get(testId);
+        return entry != null && entry.getOutcomes() >= MIN_OUTCOMES
+                && entry.getFlakinessScore() >= FrameworkConstants.FLAKY_SCORE_THRESHOLD;
+    }
+
+    /**
+     * @return a read-only view of all known history entries.
+     */
+    public static Map<String, TestHistoryEntry> getHistory() {
+        return Collections.unmodifiableMap(HISTORY);
+    }
+
+    /**
+     * Writes the history file. The file is replaced atomically so a crashed run never leaves it half written.
+     */
+    public static synchronized void save() {
+        Path target = Paths.get(SystemHelpers.getCurrentDir() + FrameworkConstants.TEST_HISTORY_PATH);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), "test-history", ".tmp");
+            MAPPER.writeValue(temp.toFile(), new TreeMap<>(HISTORY));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LogUtils.info("Saved test history (" + HISTORY.size() + " entries): " + target);
+        } catch (IOException e) {
+            LogUtils.error("Cannot save test history: " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, TestHistoryEntry> load() {
+        Map<String, TestHistoryEntry> history = new ConcurrentHashMap<>();
+        File file = new File(SystemHelpers.getCurrentDir() + FrameworkConstants.TEST_HISTORY_PATH);
+        if (file.exists()) {
+            try {
+                history.putAll(MAPPER.readValue(file, new TypeReference<Map<String, TestHistoryEntry>>() {
+                }));
+                LogUtils.info("Loaded test history (" + history.size() + " entries): " + file.getPath());
+            } catch (IOException e) {
+                LogUtils.warn("Test history is unreadable, starting from scratch: " + e.getMessage());
+            }
+        }
+        return history;
+    }
+
+    /**
+     * History of a single test id.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class TestHistoryEntry {
+        private double averageDurationMillis;
+        private long lastDurationMillis;
+        private int runs;
+        private String lastStatus;
+        private int outcomes;
+        private int flips;
+        private int retryPasses;
+        private double flakinessScore;
+
+        public double getAverageDurationMillis() {
+            return averageDurationMillis;
+        }
+
+        public void setAverageDurationMillis(double averageDurationMillis) {
+            this.averageDurationMillis = averageDurationMillis;
+        }
+
+        public long getLastDurationMillis() {
+            return lastDurationMillis;
+        }
+
+        public void setLastDurationMillis(long lastDurationMillis) {
+            this.lastDurationMillis = lastDurationMillis;
+        }
+
+        public int getRuns() {
+            return runs;
+        }
+
+        public void setRuns(int runs) {
+            this.runs = runs;
+        }
+
+        public String getLastStatus() {
+            return lastStatus;
+        }
+
+        public void setLastStatus(String lastStatus) {
+            this.lastStatus = lastStatus;
+        }
+
+        public int getOutcomes() {
+            return outcomes;
+        }
+
+        public void setOutcomes(int outcomes) {
+            this.outcomes = outcomes;
+        }
+
+        public int getFlips() {
+            return flips;
+        }
+
+        public void setFlips(int flips) {
+            this.flips = flips;
+        }
+
+        public int getRetryPasses() {
+            return retryPasses;
+        }
+
+        public void setRetryPasses(int retryPasses) {
+            this.retryPasses = retryPasses;
+        }
+
+        public double getFlakinessScore() {
+            return flakinessScore;
+        }
+
+        public void setFlakinessScore(double flakinessScore) {
+            this.flakinessScore = flakinessScore;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.assured.metrics;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ActionMetrics keeps one set of latency histograms per PageActions action and selector:
+ * the total time of the action, the time spent inside Playwright calls, and the framework overhead
+ * (logging, report attachments, screenshots) in between.
+ */
+public final class ActionMetrics {
+
+    private static final Map<Key, ActionStats> stats = new ConcurrentHashMap<>();
+
+    private ActionMetrics() {
+    }
+
+    public static void record(String action, String selector, long totalNanos, long playwrightNanos, long overheadNanos) {
+        ActionStats actionStats = stats.computeIfAbsent(new Key(action, selector == null ? "" : selector),
+                key -> new ActionStats());
+        actionStats.total.record(totalNanos);
+        actionStats.playwright.record(playwrightNanos);
+        actionStats.overhead.record(overheadNanos);
+    }
+
+    /**
+     * @return the recorded actions, sorted by action then selector.
+     */
+    public static Map<Key, ActionStats> getStats() {
+        return new TreeMap<>(stats);
+    }
+
+    /**
+     * Action name and selector of a PageActions call; the selector is empty for actions without one.
+     */
+    public static final class Key implements Comparable<Key> {
+        private final String action;
+        private final String selector;
+
+        Key(String action, String selector) {
+            this.action = action;
+            this.selector = selector;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public String getSelector() {
+            return selector;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byAction = action.compareTo(other.action);
+            return byAction != 0 ? byAction : selector.compareTo(other.selector);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return action.equals(key.action) && selector.equals(key.selector);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(action, selector);
+        }
+    }
+
+    /**
+     * Latency histograms of one action and selector.
+     */
+    public static final class ActionStats {
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final LatencyHistogram playwright = new LatencyHistogram();
+        private final LatencyHistogram overhead = new LatencyHistogram();
+
+        public LatencyHistogram getTotal() {
+            return total;
+        }
+
+        public LatencyHistogram getPlaywright() {
+            return playwright;
+        }
+
+        public LatencyHistogram getOverhead() {
+            return overhead;
+        }
+    }
+}
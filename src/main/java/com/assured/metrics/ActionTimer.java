@@ -0,0 +1,102 @@
+package com.assured.metrics;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
+
+/**
+ * ActionTimer measures one PageActions call. Playwright calls (and external API calls such as Mailinator) are
+ * wrapped with {@link #run(Runnable)} or {@link #call(Supplier)}; whatever remains of the action's time is
+ * framework overhead. Timers nest per thread: the time of an inner action is attributed to that action only,
+ * not to the outer one.
+ * <pre>
+ * ActionTimer timer = ActionTimer.start("clickElement", selector);
+ * try {
+ *     timer.run(() -&gt; locator.click());
+ *     ...
+ * } finally {
+ *     timer.stop();
+ * }
+ * </pre>
+ */
+public final class ActionTimer {
+
+    private static final ThreadLocal<Deque<ActionTimer>> activeTimers = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final String action;
+    private final String selector;
+    private final long startNanos;
+    private long playwrightNanos;
+    private long nestedNanos;
+    private boolean excluding;
+
+    private ActionTimer(String action, String selector) {
+        this.action = action;
+        this.selector = selector;
+        this.startNanos = System.nanoTime();
+    }
+
+    public static ActionTimer start(String action, String selector) {
+        ActionTimer timer = new ActionTimer(action, selector);
+        activeTimers.get().push(timer);
+        return timer;
+    }
+
+    public static ActionTimer start(String action) {
+        return start(action, null);
+    }
+
+    /**
+     * Runs a Playwright call and adds its duration to the Playwright time of the action.
+     */
+    public void run(Runnable playwrightCall) {
+        long start = System.nanoTime();
+        try {
+            playwrightCall.run();
+        } finally {
+            playwrightNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Runs a Playwright call returning a value and adds its duration to the Playwright time of the action.
+     */
+    public <T> T call(Supplier<T> playwrightCall) {
+        long start = System.nanoTime();
+        try {
+            return playwrightCall.get();
+        } finally {
+            playwrightNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Runs caller code (e.g. the Runnable passed to openNewBrowserAndPerformAction) that belongs to neither
+     * the Playwright time nor the overhead of this action. Actions started inside it are recorded on their own.
+     */
+    public void exclude(Runnable callerCode) {
+        long start = System.nanoTime();
+        excluding = true;
+        try {
+            callerCode.run();
+        } finally {
+            excluding = false;
+            nestedNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Stops the timer and records total, Playwright and overhead time for the action and selector.
+     */
+    public void stop() {
+        long totalNanos = System.nanoTime() - startNanos;
+        Deque<ActionTimer> timers = activeTimers.get();
+        timers.remove(this);
+        ActionTimer parent = timers.peek();
+        if (parent != null && !parent.excluding) {
+            parent.nestedNanos += totalNanos;
+        }
+        long ownNanos = totalNanos - nestedNanos;
+        ActionMetrics.record(action, selector, ownNanos, playwrightNanos, Math.max(0, ownNanos - playwrightNanos));
+    }
+}
@@ -0,0 +1,125 @@
+package com.assured.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram records durations in nanoseconds into log-linear buckets (8 buckets per power of two,
+ * so any percentile is reported within 12.5% of the real value). Recording is lock-free and allocation-free,
+ * so it can be called from every parallel test thread.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumNanos() {
+        return sum.sum();
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    /**
+     * @param percentile the percentile between 0 and 100.
+     * @return the upper bound of the bucket holding the percentile, in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getPercentileNanos(double percentile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * Cumulative bucket counts for the given upper bounds (Prometheus "le" semantics).
+     *
+     * @param boundsNanos ascending upper bounds in nanoseconds.
+     * @return the number of recorded values lower than or equal to each bound.
+     */
+    public long[] getCumulativeCounts(long[] boundsNanos) {
+        long[] counts = new long[boundsNanos.length];
+        long seen = 0;
+        int bound = 0;
+        for (int i = 0; i < BUCKETS && bound < boundsNanos.length; i++) {
+            while (bound < boundsNanos.length && upperBoundOf(i) > boundsNanos[bound]) {
+                counts[bound++] = seen;
+            }
+            seen += buckets.get(i);
+        }
+        while (bound < boundsNanos.length) {
+            counts[bound++] = seen;
+        }
+        return counts;
+    }
+
+    /**
+     * @return count, mean, p50, p95, p99 and max in milliseconds.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        long total = getCount();
+        snapshot.put("count", total);
+        snapshot.put("meanMs", total == 0 ? 0 : toMillis(getSumNanos() / total));
+        snapshot.put("p50Ms", toMillis(getPercentileNanos(50)));
+        snapshot.put("p95Ms", toMillis(getPercentileNanos(95)));
+        snapshot.put("p99Ms", toMillis(getPercentileNanos(99)));
+        snapshot.put("maxMs", toMillis(getMaxNanos()));
+        return snapshot;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 1000) / 1000.0;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (SUB_BUCKETS + index % SUB_BUCKETS) * width;
+        return lower + width - 1;
+    }
+}
@@ -0,0 +1,118 @@
+package com.assured.metrics;
+
+import com.assured.utils.LogUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * MetricsExporter writes the metrics of the run at suite end:
+ * metrics.prom in the Prometheus text exposition format (histograms with le buckets, counters),
+ * and metrics.json with p50/p95/p99 per action, selector and phase, plus the run snapshot.
+ */
+public final class MetricsExporter {
+
+    private static final String PROMETHEUS_FILE = "metrics.prom";
+    private static final String JSON_FILE = "metrics.json";
+    private static final double[] BUCKETS_SECONDS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60};
+    private static final long[] BUCKETS_NANOS = new long[BUCKETS_SECONDS.length];
+
+    static {
+        for (int i = 0; i < BUCKETS_SECONDS.length; i++) {
+            BUCKETS_NANOS[i] = Math.round(BUCKETS_SECONDS[i] * 1_000_000_000L);
+        }
+    }
+
+    private MetricsExporter() {
+    }
+
+    /**
+     * Writes metrics.prom and metrics.json to the folder.
+     *
+     * @param folder the export folder, created if missing.
+     */
+    public static void export(String folder) {
+        Path dir = Paths.get(folder);
+        try {
+            Files.createDirectories(dir);
+            writePrometheus(dir.resolve(PROMETHEUS_FILE));
+            writeJson(dir.resolve(JSON_FILE));
+            LogUtils.info("Metrics exported: " + dir.toAbsolutePath());
+        } catch (IOException e) {
+            LogUtils.error("Cannot export metrics: " + e.getMessage(), e);
+        }
+    }
+
+    private static void writePrometheus(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("# HELP assured_action_duration_seconds Duration of PageActions calls by phase (total, playwright, overhead).\n");
+            out.write("# TYPE assured_action_duration_seconds histogram\n");
+            for (Map.Entry<ActionMetrics.Key, ActionMetrics.ActionStats> entry : ActionMetrics.getStats().entrySet()) {
+                String labels = "action=\"" + escape(entry.getKey().getAction())
+                        + "\",selector=\"" + escape(entry.getKey().getSelector()) + "\",phase=\"";
+                writeHistogram(out, "assured_action_duration_seconds", labels + "total\"", entry.getValue().getTotal());
+                writeHistogram(out, "assured_action_duration_seconds", labels + "playwright\"", entry.getValue().getPlaywright());
+                writeHistogram(out, "assured_action_duration_seconds", labels + "overhead\"", entry.getValue().getOverhead());
+            }
+            for (Map.Entry<String, LatencyHistogram> entry : MetricsRegistry.getHistograms().entrySet()) {
+                String name = "assured_" + sanitize(entry.getKey()) + "_seconds";
+                out.write("# TYPE " + name + " histogram\n");
+                writeHistogram(out, name, "", entry.getValue());
+            }
+            Object counters = MetricsRegistry.snapshot().get("counters");
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) counters).entrySet()) {
+                String name = "assured_" + sanitize(entry.getKey().toString()) + "_total";
+                out.write("# TYPE " + name + " counter\n");
+                out.write(name + " " + entry.getValue() + "\n");
+            }
+        }
+    }
+
+    private static void writeHistogram(Writer out, String name, String labels, LatencyHistogram histogram) throws IOException {
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        long[] counts = histogram.getCumulativeCounts(BUCKETS_NANOS);
+        for (int i = 0; i < BUCKETS_SECONDS.length; i++) {
+            out.write(name + "_bucket{" + prefix + "le=\"" + BUCKETS_SECONDS[i] + "\"} " + counts[i] + "\n");
+        }
+        out.write(name + "_bucket{" + prefix + "le=\"+Inf\"} " + histogram.getCount() + "\n");
+        String suffix = labels.isEmpty() ? "" : "{" + labels + "}";
+        out.write(name + "_sum" + suffix + " " + String.format(Locale.ROOT, "%.6f", histogram.getSumNanos() / 1e9) + "\n");
+        out.write(name + "_count" + suffix + " " + histogram.getCount() + "\n");
+    }
+
+    private static void writeJson(Path file) throws IOException {
+        List<Map<String, Object>> actions = new ArrayList<>();
+        for (Map.Entry<ActionMetrics.Key, ActionMetrics.ActionStats> entry : ActionMetrics.getStats().entrySet()) {
+            Map<String, Object> action = new LinkedHashMap<>();
+            action.put("action", entry.getKey().getAction());
+            action.put("selector", entry.getKey().getSelector());
+            action.put("total", entry.getValue().getTotal().snapshot());
+            action.put("playwright", entry.getValue().getPlaywright().snapshot());
+            action.put("overhead", entry.getValue().getOverhead().snapshot());
+            actions.add(action);
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("actions", actions);
+        json.put("run", MetricsRegistry.snapshot());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll("[^a-zA-Z0-9_]", "_");
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
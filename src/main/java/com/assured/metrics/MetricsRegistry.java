@@ -0,0 +1,125 @@
+package com.assured.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MetricsRegistry holds the run metrics shared by all test threads: LongAdder counters and latency histograms,
+ * looked up by name. Progress (throughput and ETA) is derived from the tests.* counters and tests.expected,
+ * the number of invocations scheduled so far: plain methods at suite start, data-provider rows as they are
+ * read and retries as they are queued.
+ */
+public final class MetricsRegistry {
+
+    public static final String TESTS_STARTED = "tests.started";
+    public static final String TESTS_PASSED = "tests.passed";
+    public static final String TESTS_FAILED = "tests.failed";
+    public static final String TESTS_SKIPPED = "tests.skipped";
+    public static final String TESTS_EXPECTED = "tests.expected";
+    public static final String STEP_LATENCY = "step.latency";
+    public static final String SCREENSHOT_TIME = "screenshot.time";
+    public static final String BROWSER_LAUNCH_TIME = "browser.launch.time";
+    public static final String VIDEO_KEPT = "video.kept";
+    public static final String VIDEO_KEPT_BYTES = "video.kept.bytes";
+    public static final String VIDEO_DISCARDED_BYTES = "video.discarded.bytes";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private static volatile long startNanos = System.nanoTime();
+
+    private MetricsRegistry() {
+    }
+
+    public static LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    public static LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    public static void increment(String name) {
+        counter(name).increment();
+    }
+
+    public static long count(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    public static void recordNanos(String name, long nanos) {
+        histogram(name).record(nanos);
+    }
+
+    public static Map<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    /**
+     * Marks the start of the run and the number of invocations known to be scheduled, e.g. the methods
+     * without data provider.
+     *
+     * @param tests the invocations expected so far.
+     */
+    public static void start(long tests) {
+        startNanos = System.nanoTime();
+        counter(TESTS_EXPECTED).reset();
+        expect(tests);
+    }
+
+    /**
+     * Adds invocations scheduled during the run: data-provider rows, retries, leased tests.
+     */
+    public static void expect(long tests) {
+        counter(TESTS_EXPECTED).add(tests);
+    }
+
+    public static long getFinishedTests() {
+        return count(TESTS_PASSED) + count(TESTS_FAILED) + count(TESTS_SKIPPED);
+    }
+
+    /**
+     * @return counters, histograms and progress (elapsed time, tests per minute, ETA) of the run.
+     */
+    public static Map<String, Object> snapshot() {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        long finished = getFinishedTests();
+        double perMinute = elapsedMillis == 0 ? 0 : finished * 60000.0 / elapsedMillis;
+        long expected = count(TESTS_EXPECTED);
+        long remaining = Math.max(0, expected - finished);
+
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("elapsedMs", elapsedMillis);
+        progress.put("expected", expected);
+        progress.put("finished", finished);
+        progress.put("testsPerMinute", Math.round(perMinute * 100) / 100.0);
+        progress.put("etaMs", finished == 0 ? -1 : Math.round(remaining * (double) elapsedMillis / finished));
+
+        Map<String, Object> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        Map<String, Object> histogramValues = new TreeMap<>();
+        histograms.forEach((name, histogram) -> histogramValues.put(name, histogram.snapshot()));
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("progress", progress);
+        snapshot.put("counters", counterValues);
+        snapshot.put("histograms", histogramValues);
+        return snapshot;
+    }
+
+    public static String toJson() {
+        try {
+            return MAPPER.writeValueAsString(snapshot());
+        } catch (JsonProcessingException e) {
+            return "{}";
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.assured.metrics;
+
+import com.assured.utils.LogUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * MetricsServer is an optional embedded HTTP endpoint for watching a run while it executes:
+ * GET /metrics returns the MetricsRegistry snapshot as JSON, GET /events streams it as Server-Sent Events
+ * once per second. It binds to the loopback interface only and runs on daemon threads.
+ */
+public final class MetricsServer {
+
+    private static final long EVENT_INTERVAL_MILLIS = 1000;
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+
+    private MetricsServer() {
+    }
+
+    public static synchronized void start(int port) {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        } catch (IOException e) {
+            LogUtils.warn("Metrics endpoint not started on port " + port + ": " + e.getMessage());
+            return;
+        }
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", MetricsServer::handleMetrics);
+        server.createContext("/events", MetricsServer::handleEvents);
+        server.start();
+        LogUtils.info("Metrics endpoint: http://127.0.0.1:" + port + "/metrics (SSE: /events)");
+    }
+
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    private static void handleMetrics(HttpExchange exchange) throws IOException {
+        byte[] body = MetricsRegistry.toJson().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void handleEvents(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            while (!Thread.currentThread().isInterrupted()) {
+                out.write(("data: " + MetricsRegistry.toJson() + "\n\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                Thread.sleep(EVENT_INTERVAL_MILLIS);
+            }
+        } catch (IOException e) {
+            // The client went away.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.assured.metrics;
+
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StepMetricsListener records the duration of every Allure step (the @Step methods of PageActions and pages)
+ * into the step latency histogram.
+ */
+public class StepMetricsListener implements StepLifecycleListener {
+
+    @Override
+    public void afterStepStop(StepResult result) {
+        if (result.getStart() != null && result.getStop() != null) {
+            MetricsRegistry.recordNanos(MetricsRegistry.STEP_LATENCY,
+                    TimeUnit.MILLISECONDS.toNanos(result.getStop() - result.getStart()));
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.assured.report;
 import com.assured.constants.FrameworkConstants;
 import com.assured.driver.PlaywrightDriverManager;
 import com.assured.enums.Browser;
-import com.assured.helpers.FileHelpers;
 import com.assured.utils.BrowserInfoUtils;
 import com.assured.utils.LogUtils;
 import com.github.automatedowl.tools.AllureEnvironmentWriter;
@@ -12,11 +11,10 @@ import io.qameta.allure.Allure;
 import io.qameta.allure.Attachment;
 import com.microsoft.playwright.Page;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-
-import static com.assured.constants.FrameworkConstants.EXPORT_VIDEO_PATH;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public class AllureManager {
 
@@ -110,37 +108,41 @@ public class AllureManager {
     }
 
     /**
-     * Attaches an AVI video record to the Allure report if available.
+     * Attaches a Playwright trace zip to the Allure report (open it with "npx playwright show-trace").
+     *
+     * @param trace the trace file.
      */
-    public static void addAttachmentVideoAVI() {
-        if (FrameworkConstants.VIDEO_RECORD.toLowerCase().trim().equals(FrameworkConstants.YES)) {
-            try {
-                // Get the most recently modified video file from the export path.
-                File video = FileHelpers.getFileLastModified(EXPORT_VIDEO_PATH);
-                if (video != null) {
-                    Allure.addAttachment("Video record AVI", "video/avi", new FileInputStream(video), "avi");
-                } else {
-                    LogUtils.warn("Video record not found. Cannot attach video in Allure report.");
-                }
-            } catch (IOException e) {
-                LogUtils.error("Cannot attach AVI video in Allure report", e);
-            }
+    public static void addAttachmentTrace(Path trace) {
+        try (InputStream stream = Files.newInputStream(trace)) {
+            Allure.addAttachment("Playwright trace", "application/zip", stream, "zip");
+        } catch (IOException e) {
+            LogUtils.error("Cannot attach Playwright trace in Allure report", e);
         }
     }
 
     /**
-     * Attaches an MP4 video record to the Allure report if available.
+     * Streams the log file of a test to the Allure report.
+     *
+     * @param log the per-test log file.
      */
-    public static void addAttachmentVideoMP4() {
-        try {
-            File video = FileHelpers.getFileLastModified(EXPORT_VIDEO_PATH);
-            if (video != null) {
-                Allure.addAttachment("Video record MP4", "video/mp4", new FileInputStream(video), "mp4");
-            } else {
-                LogUtils.warn("Video record not found. Cannot attach video in Allure report.");
-            }
+    public static void addAttachmentLog(Path log) {
+        try (InputStream stream = Files.newInputStream(log)) {
+            Allure.addAttachment("Test log", "text/plain", stream, "log");
+        } catch (IOException e) {
+            LogUtils.error("Cannot attach test log in Allure report", e);
+        }
+    }
+
+    /**
+     * Streams the Playwright video of a test to the Allure report.
+     *
+     * @param video the WebM file recorded for the test.
+     */
+    public static void addAttachmentVideo(Path video) {
+        try (InputStream stream = Files.newInputStream(video)) {
+            Allure.addAttachment("Video record", "video/webm", stream, "webm");
         } catch (IOException e) {
-            LogUtils.error("Cannot attach MP4 video in Allure report", e);
+            LogUtils.error("Cannot attach video in Allure report", e);
         }
     }
 }
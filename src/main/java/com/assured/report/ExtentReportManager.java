@@ -4,6 +4,7 @@ import com.assured.constants.FrameworkConstants;
 import com.assured.driver.PlaywrightDriverManager; // Updated to use Playwright's manager
 import com.assured.enums.AuthorType;
 import com.assured.enums.CategoryType;
+import com.assured.metrics.MetricsRegistry;
 import com.assured.utils.BrowserInfoUtils;
 import com.assured.utils.DateUtils;
 import com.assured.utils.IconUtils;
@@ -13,10 +14,16 @@ import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.MediaEntityBuilder;
 import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.markuputils.Markup;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.JsonFormatter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 import com.microsoft.playwright.Page;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Base64;
 import java.util.Objects;
 
@@ -24,6 +31,8 @@ public class ExtentReportManager {
 
     private static ExtentReports extentReports;
     private static String link = "";
+    // Only the end of a long test log is embedded in the HTML report.
+    private static final int MAX_LOG_CHARS = 50000;
 
     public static void initReports() {
         if (Objects.isNull(extentReports)) {
@@ -42,6 +51,8 @@ public class ExtentReportManager {
 
             ExtentSparkReporter spark = new ExtentSparkReporter(link);
             extentReports.attachReporter(spark);
+            // JSON archive of the run, used by ShardReportMerger to rebuild one report from several shards.
+            extentReports.attachReporter(new JsonFormatter(getJsonArchivePath(link)));
             spark.config().setTheme(Theme.STANDARD);
             spark.config().setDocumentTitle(FrameworkConstants.REPORT_TITLE);
             spark.config().setReportName(FrameworkConstants.REPORT_TITLE);
@@ -52,6 +63,10 @@ public class ExtentReportManager {
         }
     }
 
+    public static String getJsonArchivePath(String reportPath) {
+        return reportPath.replaceAll("\\.html$", "") + ".json";
+    }
+
     public static void flushReports() {
         if (Objects.nonNull(extentReports)) {
             extentReports.flush();
@@ -60,6 +75,13 @@ public class ExtentReportManager {
         ReportUtils.openReports(link);
     }
 
+    public static void setSystemInfo(String key, String value) {
+        if (Objects.nonNull(extentReports)) {
+            extentReports.setSystemInfo(key, value);
+        }
+        LogUtils.info(key + ": " + value);
+    }
+
     public static void createTest(String testCaseName) {
         ExtentTestManager.setExtentTest(
                 extentReports.createTest(IconUtils.getBrowserIcon() + " " + testCaseName)
@@ -86,7 +108,9 @@ public class ExtentReportManager {
     public static void addScreenShot(String friendlyLocatorName) {
         try {
             Page page = PlaywrightDriverManager.getPage();
+            long start = System.nanoTime();
             byte[] screenshotBytes = page.screenshot(new Page.ScreenshotOptions());
+            MetricsRegistry.recordNanos(MetricsRegistry.SCREENSHOT_TIME, System.nanoTime() - start);
             // Convert the byte array to Base64 string
             String base64Image = "data:image/png;base64," +
                     Base64.getEncoder().encodeToString(screenshotBytes);
@@ -115,7 +139,9 @@ public class ExtentReportManager {
 
         try {
             String uniqueScreenshotName = screenshotName + " - " + System.currentTimeMillis();
+            long start = System.nanoTime();
             byte[] screenshotBytes = page.screenshot(new Page.ScreenshotOptions());
+            MetricsRegistry.recordNanos(MetricsRegistry.SCREENSHOT_TIME, System.nanoTime() - start);
             String base64Image = "data:image/png;base64," +
                     Base64.getEncoder().encodeToString(screenshotBytes);
             if (ExtentTestManager.getExtentTest() != null) {
@@ -164,6 +190,36 @@ public class ExtentReportManager {
         }
     }
 
+    public static synchronized void addCategory(String category) {
+        if (ExtentTestManager.getExtentTest() == null) {
+            LogUtils.warn("ExtentTest instance is null. Cannot assign category: " + category);
+            return;
+        }
+        ExtentTestManager.getExtentTest().assignCategory(category);
+        LogUtils.info("Assigned category: " + category);
+    }
+
+    /**
+     * Adds the end of a per-test log file to the current test as a code block.
+     *
+     * @param log the per-test log file.
+     */
+    public static void addLogFile(Path log) {
+        if (ExtentTestManager.getExtentTest() == null) {
+            LogUtils.warn("ExtentTest instance is null. Cannot add log file: " + log);
+            return;
+        }
+        try {
+            String content = new String(Files.readAllBytes(log), StandardCharsets.UTF_8);
+            if (content.length() > MAX_LOG_CHARS) {
+                content = "...\n" + content.substring(content.length() - MAX_LOG_CHARS);
+            }
+            ExtentTestManager.getExtentTest().info(MarkupHelper.createCodeBlock(content));
+        } catch (IOException e) {
+            LogUtils.error("Cannot add log file to Extent report: " + e.getMessage(), e);
+        }
+    }
+
     public static synchronized void addDevices() {
         if (ExtentTestManager.getExtentTest() == null) {
             LogUtils.warn("ExtentTest instance is null. Cannot assign device info.");
@@ -0,0 +1,298 @@
+package com.assured.report;
+
+import com.assured.constants.FrameworkConstants;
+import com.assured.utils.LogUtils;
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.configuration.Theme;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * ShardReportMerger merges the Allure results and Extent JSON archives of several shards into one report.
+ * <p>
+ * Usage: {@code ShardReportMerger --output target/merged-report <shard dir> <shard dir> ...}
+ * where each shard dir holds a shard's {@code target/allure-results} (or {@code allure-results}) and its
+ * {@code *ExtentReports.json} archive(s).
+ * </p>
+ * Allure result files are streamed twice and never held in memory: the first pass keeps only a small summary
+ * (historyId, stop, status, attachment sources) per test to pick the final attempt of retried tests, the second pass
+ * copies the winners and their attachments. TCs Total/Passed/Failed/Skipped are recomputed from the winners.
+ * The Extent side filters the archives test by test, but the merged HTML is built in memory by Extent itself.
+ */
+public final class ShardReportMerger {
+
+    private static final String RESULT_SUFFIX = "-result.json";
+    private static final String CONTAINER_SUFFIX = "-container.json";
+    private static final String ENVIRONMENT_FILE = "environment.xml";
+    private static final String EXTENT_ARCHIVE_SUFFIX = FrameworkConstants.EXTENT_REPORT_NAME + ".json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON = MAPPER.getFactory();
+
+    private ShardReportMerger() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path output = Paths.get("target/merged-report");
+        List<Path> shards = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--output")) {
+                output = Paths.get(args[++i]);
+            } else {
+                shards.add(Paths.get(args[i]));
+            }
+        }
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Usage: ShardReportMerger --output <dir> <shard dir> [<shard dir> ...]");
+        }
+        merge(output, shards);
+    }
+
+    public static void merge(Path output, List<Path> shards) throws Exception {
+        Path allureOutput = output.resolve("allure-results");
+        Files.createDirectories(allureOutput);
+
+        Map<String, ResultSummary> winners = new HashMap<>();
+        List<Path> allureDirs = new ArrayList<>();
+        int scanned = 0;
+        for (Path shard : shards) {
+            Path allureDir = resolveAllureDir(shard);
+            allureDirs.add(allureDir);
+            try (DirectoryStream<Path> results = Files.newDirectoryStream(allureDir, "*" + RESULT_SUFFIX)) {
+                for (Path file : results) {
+                    ResultSummary summary = readSummary(file);
+                    winners.merge(summary.historyId, summary, (kept, candidate) -> candidate.stop > kept.stop ? candidate : kept);
+                    scanned++;
+                }
+            }
+        }
+        LogUtils.info("Scanned " + scanned + " Allure results in " + shards.size() + " shards, " + winners.size() + " unique tests.");
+
+        Map<String, Integer> totals = new LinkedHashMap<>();
+        for (ResultSummary winner : winners.values()) {
+            Files.copy(winner.file, allureOutput.resolve(winner.file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            for (String source : winner.sources) {
+                Path attachment = winner.file.getParent().resolve(source);
+                if (Files.exists(attachment)) {
+                    Files.copy(attachment, allureOutput.resolve(source), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            totals.merge(winner.status, 1, Integer::sum);
+        }
+        for (Path allureDir : allureDirs) {
+            copyMatching(allureDir, "*" + CONTAINER_SUFFIX, allureOutput, true);
+            copyMatching(allureDir, "{categories.json,executor.json}", allureOutput, false);
+        }
+        writeEnvironment(allureDirs, allureOutput.resolve(ENVIRONMENT_FILE), winners.size(), totals);
+
+        mergeExtent(output, shards);
+        LogUtils.info("Merged report written to " + output.toAbsolutePath() + " " + totals);
+    }
+
+    private static Path resolveAllureDir(Path shard) {
+        for (Path candidate : new Path[]{shard.resolve("target/allure-results"), shard.resolve("allure-results")}) {
+            if (Files.isDirectory(candidate)) {
+                return candidate;
+            }
+        }
+        return shard;
+    }
+
+    /**
+     * Reads the top level historyId/status/stop of an Allure result and every attachment source, token by token.
+     */
+    private static ResultSummary readSummary(Path file) throws IOException {
+        ResultSummary summary = new ResultSummary(file);
+        try (JsonParser parser = JSON.createParser(file.toFile())) {
+            int depth = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                    depth++;
+                } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                    depth--;
+                } else if (token == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                        depth++;
+                    } else if ("source".equals(field)) {
+                        summary.sources.add(parser.getText());
+                    } else if (depth == 1 && "historyId".equals(field)) {
+                        summary.historyId = parser.getText();
+                    } else if (depth == 1 && "status".equals(field)) {
+                        summary.status = parser.getText();
+                    } else if (depth == 1 && "stop".equals(field)) {
+                        summary.stop = parser.getLongValue();
+                    }
+                }
+            }
+        }
+        if (summary.historyId == null) {
+            summary.historyId = file.getFileName().toString();
+        }
+        return summary;
+    }
+
+    private static void copyMatching(Path dir, String glob, Path target, boolean replace) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, glob)) {
+            for (Path file : files) {
+                Path destination = target.resolve(file.getFileName());
+                if (replace || !Files.exists(destination)) {
+                    Files.copy(file, destination, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    /**
+     * Keeps the environment of the first shard that has one and replaces the TCs counters with the merged totals.
+     */
+    private static void writeEnvironment(List<Path> allureDirs, Path target, int total, Map<String, Integer> totals) throws Exception {
+        Map<String, String> environment = new LinkedHashMap<>();
+        for (Path allureDir : allureDirs) {
+            Path source = allureDir.resolve(ENVIRONMENT_FILE);
+            if (Files.exists(source)) {
+                Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(source.toFile());
+                NodeList parameters = document.getElementsByTagName("parameter");
+                for (int i = 0; i < parameters.getLength(); i++) {
+                    Element parameter = (Element) parameters.item(i);
+                    environment.put(parameter.getElementsByTagName("key").item(0).getTextContent(),
+                            parameter.getElementsByTagName("value").item(0).getTextContent());
+                }
+                break;
+            }
+        }
+        environment.put("Shards", String.valueOf(allureDirs.size()));
+        environment.put("TCs Total", String.valueOf(total));
+        environment.put("TCs Passed", String.valueOf(totals.getOrDefault("passed", 0)));
+        environment.put("TCs Skipped", String.valueOf(totals.getOrDefault("skipped", 0)));
+        environment.put("TCs Failed", String.valueOf(totals.getOrDefault("failed", 0) + totals.getOrDefault("broken", 0)));
+
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        Element root = document.createElement("environment");
+        document.appendChild(root);
+        for (Map.Entry<String, String> entry : environment.entrySet()) {
+            Element parameter = document.createElement("parameter");
+            Element key = document.createElement("key");
+            key.setTextContent(entry.getKey());
+            Element value = document.createElement("value");
+            value.setTextContent(entry.getValue());
+            parameter.appendChild(key);
+            parameter.appendChild(value);
+            root.appendChild(parameter);
+        }
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.transform(new DOMSource(document), new StreamResult(target.toFile()));
+    }
+
+    private static void mergeExtent(Path output, List<Path> shards) throws IOException {
+        List<Path> archives = new ArrayList<>();
+        for (Path shard : shards) {
+            try (Stream<Path> files = Files.walk(shard, 4)) {
+                archives.addAll(files.filter(f -> f.getFileName().toString().endsWith(EXTENT_ARCHIVE_SUFFIX))
+                        .collect(Collectors.toList()));
+            }
+        }
+        if (archives.isEmpty()) {
+            LogUtils.warn("No Extent JSON archive found in the shards. Skipping the Extent report.");
+            return;
+        }
+
+        ExtentReports extentReports = new ExtentReports();
+        Path filtered = Files.createTempFile("extent-shard", ".json");
+        try {
+            for (Path archive : archives) {
+                int dropped = filterRetried(archive, filtered);
+                extentReports.createDomainFromJsonArchive(filtered.toString());
+                LogUtils.info("Merged Extent archive " + archive + " (" + dropped + " retried attempts dropped)");
+            }
+        } finally {
+            Files.deleteIfExists(filtered);
+        }
+        ExtentSparkReporter spark = new ExtentSparkReporter(output.resolve(FrameworkConstants.EXTENT_REPORT_FILE_NAME).toString());
+        spark.config().setTheme(Theme.STANDARD);
+        spark.config().setDocumentTitle(FrameworkConstants.REPORT_TITLE);
+        spark.config().setReportName(FrameworkConstants.REPORT_TITLE);
+        extentReports.attachReporter(spark);
+        extentReports.setSystemInfo("Shards", String.valueOf(shards.size()));
+        extentReports.flush();
+    }
+
+    /**
+     * Copies an Extent JSON archive test by test, leaving out attempts that were superseded by a retry.
+     *
+     * @return the number of dropped tests.
+     */
+    private static int filterRetried(Path archive, Path target) throws IOException {
+        int dropped = 0;
+        try (JsonParser parser = JSON.createParser(archive.toFile());
+             JsonGenerator generator = JSON.createGenerator(target.toFile(), JsonEncoding.UTF8)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Not an Extent JSON archive: " + archive);
+            }
+            generator.writeStartArray();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                JsonNode test = MAPPER.readTree(parser);
+                if (isRetried(test)) {
+                    dropped++;
+                } else {
+                    MAPPER.writeTree(generator, test);
+                }
+            }
+            generator.writeEndArray();
+        }
+        return dropped;
+    }
+
+    private static boolean isRetried(JsonNode test) {
+        for (JsonNode category : test.path("categorySet")) {
+            if (FrameworkConstants.CATEGORY_RETRIED.equals(category.path("name").asText())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class ResultSummary {
+        private final Path file;
+        private final List<String> sources = new ArrayList<>();
+        private String historyId;
+        private String status = "unknown";
+        private long stop;
+
+        private ResultSummary(Path file) {
+            this.file = file;
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.assured.services;
 
 import com.assured.driver.PlaywrightFactory;
 import com.assured.enums.FailureHandling;
+import com.assured.fixtures.Fixtures;
+import com.assured.metrics.ActionTimer;
+import com.assured.metrics.MetricsRegistry;
 import com.assured.report.AllureManager;
 import com.assured.report.ExtentReportManager;
 import com.assured.driver.PlaywrightDriverManager;
@@ -48,8 +51,12 @@ public class PageActions {
         return page;
     }
 
-    // Assuming you have a soft assertion mechanism available.
-    private static SoftAssert softAssert = new SoftAssert();
+    /**
+     * @return the soft assertions of the running test (a @TestScoped fixture, not shared between tests).
+     */
+    private static SoftAssert softAssert() {
+        return Fixtures.get(SoftAssert.class);
+    }
 
     /**
      * Navigates the current Page to the given URL using a 60-second timeout.
@@ -63,13 +70,15 @@ public class PageActions {
             throw new IllegalStateException("Page instance is null. Ensure the driver is initialized.");
         }
         page.setDefaultNavigationTimeout(80000);
-        LogUtils.info("Navigating to URL: " + url);
+        LogUtils.info(() -> "Navigating to URL: " + url);
+        // Started right before the try, so a failed check above cannot leave the timer on the thread's stack
+        ActionTimer timer = ActionTimer.start("navigate");
         try {
             Page.NavigateOptions options = new Page.NavigateOptions();
             options.setWaitUntil(WaitUntilState.DOMCONTENTLOADED);
             options.setWaitUntil(WaitUntilState.LOAD);
             options.setWaitUntil(WaitUntilState.NETWORKIDLE);
-            page.navigate(url, options);
+            timer.run(() -> page.navigate(url, options));
             AllureManager.saveTextLog("Navigated to URL: " + url);
             addScreenshotToReport("navigate_" + DateUtils.getCurrentDateTime());
         } catch (Exception e) {
@@ -77,6 +86,8 @@ public class PageActions {
 
             AllureManager.saveTextLog("Navigation failed with error: " + e.getMessage());
             throw e;
+        } finally {
+            timer.stop();
         }
     }
 
@@ -88,11 +99,12 @@ public class PageActions {
      */
     @Step("Fill element using selector: {0} with text: {1}")
     public static void setText(String selector, String text) {
+        ActionTimer timer = ActionTimer.start("setText", selector);
         Page page = PlaywrightDriverManager.getPage();
         try {
             Locator locator = page.locator(selector);
-            locator.fill(text);
-            LogUtils.info("Filled element with selector: " + selector + " with text: " + text);
+            timer.run(() -> locator.fill(text));
+            LogUtils.info(() -> "Filled element with selector: " + selector + " with text: " + text);
 
             AllureManager.saveTextLog("Filled element with selector: " + selector + " with text: " + text);
             addScreenshotToReport("setText_" + DateUtils.getCurrentDateTime());
@@ -101,6 +113,8 @@ public class PageActions {
 
             AllureManager.saveTextLog("Failed to fill element with selector: " + selector + " with error: " + e.getMessage());
             throw e;
+        } finally {
+            timer.stop();
         }
     }
 
@@ -111,11 +125,12 @@ public class PageActions {
      */
     @Step("Click element using selector: {0}")
     public static void clickElement(String selector) {
+        ActionTimer timer = ActionTimer.start("clickElement", selector);
         Page page = PlaywrightDriverManager.getPage();
         try {
             Locator locator = page.locator(selector);
-            locator.click();
-            LogUtils.info("Clicked element with selector: " + selector);
+            timer.run(() -> locator.click());
+            LogUtils.info(() -> "Clicked element with selector: " + selector);
 
             AllureManager.saveTextLog("Clicked element with selector: " + selector);
             addScreenshotToReport("clickElement_" + DateUtils.getCurrentDateTime());
@@ -124,6 +139,8 @@ public class PageActions {
 
             AllureManager.saveTextLog("Failed to click element with selector: " + selector + " with error: " + e.getMessage());
             throw e;
+        } finally {
+            timer.stop();
         }
     }
 
@@ -134,18 +151,19 @@ public class PageActions {
      */
     @Step("Wait for element clickable: {0}")
     public static void waitForElementClickable(String selector) {
+        ActionTimer timer = ActionTimer.start("waitForElementClickable", selector);
         Page page = PlaywrightDriverManager.getPage();
         try {
             Locator locator = page.locator(selector);
             // Wait until the element is visible
-            locator.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE).setTimeout(60000));
+            timer.run(() -> locator.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE).setTimeout(60000)));
             // Poll until enabled (Playwright does not have a direct "clickable" state)
             int retries = 0;
-            while (!locator.isEnabled() && retries < 10) {
+            while (!timer.call(locator::isEnabled) && retries < 10) {
                 Thread.sleep(500);
                 retries++;
             }
-            LogUtils.info("Element is clickable: " + selector);
+            LogUtils.info(() -> "Element is clickable: " + selector);
 
             AllureManager.saveTextLog("Element is clickable: " + selector);
             addScreenshotToReport("waitForElementClickable_" + DateUtils.getCurrentDateTime());
@@ -154,6 +172,8 @@ public class PageActions {
 
             AllureManager.saveTextLog("Element not clickable: " + selector + " with error: " + e.getMessage());
             throw new RuntimeException(e);
+        } finally {
+            timer.stop();
         }
     }
 
@@ -167,11 +187,12 @@ public class PageActions {
      */
     @Step("Verify text of element {0} equals: {1}")
     public static boolean verifyElementTextEquals(String selector, String expectedText, FailureHandling flowControl) {
+        ActionTimer timer = ActionTimer.start("verifyElementTextEquals", selector);
         Page page = PlaywrightDriverManager.getPage();
         try {
             Locator locator = page.locator(selector);
-            locator.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE));
-            String actualText = locator.textContent().trim();
+            timer.run(() -> locator.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE)));
+            String actualText = timer.call(locator::textContent).trim();
             boolean result = actualText.equals(expectedText.trim());
             if (result) {
                 LogUtils.info("Verify text equals: " + result);
@@ -184,7 +205,7 @@ public class PageActions {
                 Assert.assertEquals(actualText, expectedText.trim(),
                         "❌ The actual text is '" + actualText + "' not equals '" + expectedText.trim() + "'");
             } else if (flowControl.equals(FailureHandling.CONTINUE_ON_FAILURE)) {
-                softAssert.assertEquals(actualText, expectedText.trim(),
+                softAssert().assertEquals(actualText, expectedText.trim(),
                         "❌ The actual text is '" + actualText + "' not equals '" + expectedText.trim() + "'");
                 if (!result) {
 
@@ -200,6 +221,8 @@ public class PageActions {
 
             AllureManager.saveTextLog("Exception in verifyElementTextEquals: " + e.getMessage());
             throw e;
+        } finally {
+            timer.stop();
         }
     }
 
@@ -213,11 +236,12 @@ public class PageActions {
      */
     @Step("Verify text of element {0} contains: {1}")
     public static boolean verifyElementTextContains(String selector, String expectedText, FailureHandling flowControl) {
+        ActionTimer timer = ActionTimer.start("verifyElementTextContains", selector);
         Page page = PlaywrightDriverManager.getPage();
         try {
             Locator locator = page.locator(selector);
-            locator.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE));
-            String actualText = locator.textContent().trim();
+            timer.run(() -> locator.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE)));
+            String actualText = timer.call(locator::textContent).trim();
             boolean result = actualText.contains(expectedText.trim());
             if (result) {
                 LogUtils.info("Verify text contains: " + result);
@@ -230,7 +254,7 @@ public class PageActions {
                 Assert.assertTrue(result,
                         "❌ The actual text is '" + actualText + "' does not contain '" + expectedText.trim() + "'");
             } else if (flowControl.equals(FailureHandling.CONTINUE_ON_FAILURE)) {
-                softAssert.assertTrue(result,
+                softAssert().assertTrue(result,
                         "❌ The actual text is '" + actualText + "' does not contain '" + expectedText.trim() + "'");
 
             }
@@ -243,6 +267,8 @@ public class PageActions {
 
             AllureManager.saveTextLog("Exception in verifyElementTextContains: " + e.getMessage());
             throw e;
+        } finally {
+            timer.stop();
         }
     }
 
@@ -254,11 +280,12 @@ public class PageActions {
      */
     @Step("Upload file using selector: {0} with file: {1}")
     public static void uploadFile(String selector, String filePath) {
+        ActionTimer timer = ActionTimer.start("uploadFile", selector);
         Page page = PlaywrightDriverManager.getPage();
         try {
             Locator locator = page.locator(selector);
-            locator.setInputFiles(Paths.get(filePath));
-            LogUtils.info("Uploaded file using selector: " + selector + " with file: " + filePath);
+            timer.run(() -> locator.setInputFiles(Paths.get(filePath)));
+            LogUtils.info(() -> "Uploaded file using selector: " + selector + " with file: " + filePath);
 
             AllureManager.saveTextLog("Uploaded file using selector: " + selector + " with file: " + filePath);
             addScreenshotToReport("uploadFile_" + DateUtils.getCurrentDateTime());
@@ -267,6 +294,8 @@ public class PageActions {
 
             AllureManager.saveTextLog("Failed to upload file using selector: " + selector + " with error: " + e.getMessage());
             throw e;
+        } finally {
+            timer.stop();
         }
     }
 
@@ -280,11 +309,12 @@ public class PageActions {
      */
     @Step("Verify text of element {0} does not contain: {1}")
     public static boolean verifyElementTextNotContains(String selector, String notExpectedText, FailureHandling flowControl) {
+        ActionTimer timer = ActionTimer.start("verifyElementTextNotContains", selector);
         Page page = PlaywrightDriverManager.getPage();
         try {
             Locator locator = page.locator(selector);
-            locator.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE));
-            String actualText = locator.textContent().trim();
+            timer.run(() -> locator.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE)));
+            String actualText = timer.call(locator::textContent).trim();
             boolean result = !actualText.contains(notExpectedText.trim());
             if (result) {
                 LogUtils.info("Verify text not contains: " + result);
@@ -297,7 +327,7 @@ public class PageActions {
                 Assert.assertFalse(actualText.contains(notExpectedText.trim()),
                         "❌ The actual text is '" + actualText + "' contains '" + notExpectedText.trim() + "'");
             } else if (flowControl.equals(FailureHandling.CONTINUE_ON_FAILURE)) {
-                softAssert.assertFalse(actualText.contains(notExpectedText.trim()),
+                softAssert().assertFalse(actualText.contains(notExpectedText.trim()),
                         "❌ The actual text is '" + actualText + "' contains '" + notExpectedText.trim() + "'");
                 if (!result) {
 
@@ -313,6 +343,8 @@ public class PageActions {
 
             AllureManager.saveTextLog("Exception in verifyElementTextNotContains: " + e.getMessage());
             throw e;
+        } finally {
+            timer.stop();
         }
     }
 
@@ -325,13 +357,14 @@ public class PageActions {
      */
     @Step("Verify element is enabled: {0}")
     public static boolean verifyElementIsEnabled(String selector, FailureHandling flowControl) {
+        ActionTimer timer = ActionTimer.start("verifyElementIsEnabled", selector);
         Page page = PlaywrightDriverManager.getPage();
         try {
             Locator locator = page.locator(selector);
-            locator.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE));
-            boolean isEnabled = locator.isEnabled();
+            timer.run(() -> locator.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE)));
+            boolean isEnabled = timer.call(locator::isEnabled);
             if (isEnabled) {
-                LogUtils.info("Element is enabled: " + selector);
+                LogUtils.info(() -> "Element is enabled: " + selector);
 
             } else {
                 LogUtils.error("❌ Element is not enabled: " + selector);
@@ -340,7 +373,7 @@ public class PageActions {
             if (flowControl.equals(FailureHandling.STOP_ON_FAILURE)) {
                 Assert.assertTrue(isEnabled, "❌ Element with selector '" + selector + "' is not enabled.");
             } else if (flowControl.equals(FailureHandling.CONTINUE_ON_FAILURE)) {
-                softAssert.assertTrue(isEnabled, "❌ Element with selector '" + selector + "' is not enabled.");
+                softAssert().assertTrue(isEnabled, "❌ Element with selector '" + selector + "' is not enabled.");
 
                 AllureManager.saveTextLog("Verify element is enabled - " + isEnabled);
             }
@@ -351,6 +384,8 @@ public class PageActions {
 
             AllureManager.saveTextLog("Exception in verifyElementIsEnabled: " + e.getMessage());
             throw e;
+        } finally {
+            timer.stop();
         }
     }
 
@@ -363,13 +398,14 @@ public class PageActions {
      */
     @Step("Verify element is disabled: {0}")
     public static boolean verifyElementIsDisabled(String selector, FailureHandling flowControl) {
+        ActionTimer timer = ActionTimer.start("verifyElementIsDisabled", selector);
         Page page = PlaywrightDriverManager.getPage();
         try {
             Locator locator = page.locator(selector);
-            locator.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE));
-            boolean isDisabled = !locator.isEnabled();
+            timer.run(() -> locator.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE)));
+            boolean isDisabled = !timer.call(locator::isEnabled);
             if (isDisabled) {
-                LogUtils.info("Element is disabled: " + selector);
+                LogUtils.info(() -> "Element is disabled: " + selector);
 
             } else {
                 LogUtils.error("❌ Element is not disabled: " + selector);
@@ -378,7 +414,7 @@ public class PageActions {
             if (flowControl.equals(FailureHandling.STOP_ON_FAILURE)) {
                 Assert.assertTrue(isDisabled, "❌ Element with selector '" + selector + "' is not disabled.");
             } else if (flowControl.equals(FailureHandling.CONTINUE_ON_FAILURE)) {
-                softAssert.assertTrue(isDisabled, "❌ Element with selector '" + selector + "' is not disabled.");
+                softAssert().assertTrue(isDisabled, "❌ Element with selector '" + selector + "' is not disabled.");
 
                 AllureManager.saveTextLog("Verify element is disabled - " + isDisabled);
             }
@@ -389,6 +425,8 @@ public class PageActions {
 
             AllureManager.saveTextLog("Exception in verifyElementIsDisabled: " + e.getMessage());
             throw e;
+        } finally {
+            timer.stop();
         }
     }
 
@@ -397,11 +435,12 @@ public class PageActions {
      */
     @Step("Close the browser")
     public static void closeBrowser() {
+        ActionTimer timer = ActionTimer.start("closeBrowser");
         try {
             Page page = PlaywrightDriverManager.getPage();
             BrowserContext context = page.context();
             LogUtils.info("Closing the browser");
-            context.close();
+            timer.run(context::close);
 
             AllureManager.saveTextLog("Browser closed successfully.");
             // No screenshot as the browser is closing.
@@ -410,6 +449,8 @@ public class PageActions {
 
             AllureManager.saveTextLog("Failed to close browser with error: " + e.getMessage());
             throw e;
+        } finally {
+            timer.stop();
         }
     }
     /**
@@ -420,12 +461,13 @@ public class PageActions {
      */
     @Step("Open a new browser instance, perform actions, then return to original browser")
     public static void openNewBrowserAndPerformAction(Runnable action) {
+        ActionTimer timer = ActionTimer.start("openNewBrowserAndPerformAction");
         // Save the original (current) Page instance so we can return to it later.
         Page originalPage = PlaywrightDriverManager.getPage();
 
         try {
             // Create a new browser instance (non-headless mode in this example) and obtain a new Page.
-            Page newPage = PlaywrightFactory.createPage(false);
+            Page newPage = timer.call(() -> PlaywrightFactory.createPage(false));
 
             // Set the newly created page as the current active page in the driver manager.
             PlaywrightDriverManager.setPage(newPage);
@@ -438,7 +480,7 @@ public class PageActions {
             addScreenshotToReport("newBrowserOpened_" + DateUtils.getCurrentDateTime());
 
             // Execute the provided actions (passed as a lambda) in the context of the new browser.
-            action.run();
+            timer.exclude(action);
 
             // Capture another screenshot after the actions have been executed.
             addScreenshotToReport("actionsPerformedInNewBrowser_" + DateUtils.getCurrentDateTime());
@@ -449,8 +491,16 @@ public class PageActions {
             // Wrap and rethrow the exception to signal failure.
             throw new RuntimeException(e);
         } finally {
-            // Close the new browser instance and clean up its resources.
-            PlaywrightFactory.quit();
+            // Close the new browser instance and clean up its resources (its video, if any, is not kept).
+            Video video;
+            try {
+                video = PlaywrightFactory.getVideo();
+                timer.run(PlaywrightFactory::quit);
+            } finally {
+                // Stopped before the rest of the cleanup: a failing video or screenshot must not leave it on the thread's stack.
+                timer.stop();
+            }
+            PlaywrightFactory.finishVideo(video, false, "newBrowser");
 
             // Restore the original browser instance in the driver manager.
             PlaywrightDriverManager.setPage(originalPage);
@@ -472,12 +522,13 @@ public class PageActions {
      */
     @Step("Switch to newly opened tab, perform action, and return to original tab")
     public static void switchToNewTabAndPerformAction(Runnable action) {
+        ActionTimer timer = ActionTimer.start("switchToNewTabAndPerformAction");
         try {
             Page originalPage = PlaywrightDriverManager.getPage();
             BrowserContext context = originalPage.context();
             // Wait briefly for the new page to open (customize as needed)
             Thread.sleep(1000);
-            List<Page> pages = context.pages();
+            List<Page> pages = timer.call(context::pages);
             Page newPage = null;
             for (Page p : pages) {
                 if (!p.equals(originalPage)) {
@@ -495,7 +546,7 @@ public class PageActions {
             AllureManager.saveTextLog("Switched to new tab.");
             addScreenshotToReport("switchToNewTab_" + DateUtils.getCurrentDateTime());
             // Perform action on the new tab
-            action.run();
+            timer.exclude(action);
             // Optionally capture a screenshot after action
             addScreenshotToReport("actionOnNewTab_" + DateUtils.getCurrentDateTime());
             // Return to original page
@@ -509,6 +560,8 @@ public class PageActions {
 
             AllureManager.saveTextLog("Error in switching tabs: " + e.getMessage());
             throw new RuntimeException(e);
+        } finally {
+            timer.stop();
         }
     }
 
@@ -524,15 +577,15 @@ public class PageActions {
      */
     @Step("Retrieve mail URL for domain: {0}, mailbox: {1}")
     public static String getMailUrl(String domain, String mailbox) {
+        ActionTimer timer = ActionTimer.start("getMailUrl");
         String url = null;
-        // Update or externalize your API key as needed
-        String apiKey = "947fc29e9d3b4c4b80be0e65f27fd8db";
         try {
             LogUtils.info("Requesting inbox for domain: " + domain);
             AllureManager.saveTextLog("Requesting inbox for domain: " + domain);
 
-            MailinatorClient mailinatorClient = new MailinatorClient(apiKey);
-            Inbox inbox = mailinatorClient.request(new GetInboxRequest(domain));
+            // One client for the suite (MAILINATOR_API_KEY), see FixtureModule
+            MailinatorClient mailinatorClient = Fixtures.get(MailinatorClient.class);
+            Inbox inbox = timer.call(() -> mailinatorClient.request(new GetInboxRequest(domain)));
             List<Message> messages = inbox.getMsgs();
             LogUtils.info("Inbox received with " + messages.size() + " messages");
             AllureManager.saveTextLog("Inbox received with " + messages.size() + " messages");
@@ -562,7 +615,7 @@ public class PageActions {
                 AllureManager.saveTextLog("No URL found in subject. Trying links API for message id: " + messageId);
 
                 // Retrieve URL using the links API
-                Links linksResponse = mailinatorClient.request(new GetLinksRequest(domain, mailbox, messageId));
+                Links linksResponse = timer.call(() -> mailinatorClient.request(new GetLinksRequest(domain, mailbox, messageId)));
                 List<String> links = linksResponse.getLinks();
                 if (links != null && !links.isEmpty()) {
                     url = links.get(0);
@@ -577,6 +630,8 @@ public class PageActions {
             LogUtils.error("Exception occurred while retrieving mail URL: " + e.getMessage(), e);
             AllureManager.saveTextLog("Exception occurred while retrieving mail URL: " + e.getMessage());
             throw e;
+        } finally {
+            timer.stop();
         }
         return url;
     }
@@ -605,7 +660,9 @@ public class PageActions {
     private static void addScreenshotToReport(String screenshotName) {
         try {
             Page page = PlaywrightDriverManager.getPage();
+            long start = System.nanoTime();
             byte[] screenshot = page.screenshot(new Page.ScreenshotOptions().setPath(Paths.get("screenshots", screenshotName + ".png")));
+            MetricsRegistry.recordNanos(MetricsRegistry.SCREENSHOT_TIME, System.nanoTime() - start);
             AllureManager.takeScreenshotToAttachOnAllureReport();
             // You can also attach the screenshot to Extent Report if your manager supports it.
         } catch (Exception e) {
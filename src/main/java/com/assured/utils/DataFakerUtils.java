@@ -7,36 +7,56 @@ import java.util.Locale;
 
 public class DataFakerUtils {
     // Java Locale List: https://www.viralpatel.net/java-locale-list-tutorial/
-    private static Faker faker = null; // Default: English US
+    private static volatile Locale locale = new Locale(FrameworkConstants.LOCATE);
+    //Faker is not thread-safe: each test thread gets its own, created for the current locale
+    private static final ThreadLocal<LocalFaker> fakers = new ThreadLocal<>();
 
     /**
-     * Returns a singleton instance of Faker initialized with the locale
-     * defined in FrameworkConstants.
+     * Returns the Faker of the current thread, initialized with the locale
+     * defined in FrameworkConstants or set with setLocale.
      *
      * @return Faker instance
      */
     public static Faker getFaker() {
-        if (faker == null) {
-            faker = new Faker(new Locale(FrameworkConstants.LOCATE));
+        LocalFaker local = fakers.get();
+        Locale current = locale;
+        if (local == null || !current.equals(local.locale)) {
+            local = new LocalFaker(new Faker(current), current);
+            fakers.set(local);
         }
-        return faker;
+        return local.faker;
     }
 
     /**
-     * Sets a custom Faker instance.
+     * Sets a custom Faker instance for the current thread.
      *
      * @param faker Custom Faker instance
      */
     public static void setFaker(Faker faker) {
-        DataFakerUtils.faker = faker;
+        fakers.set(new LocalFaker(faker, locale));
     }
 
     /**
-     * Updates the Faker instance with a new locale.
+     * Updates the locale of every thread's Faker and drops the pooled values of the old locale.
      *
      * @param localeName Name of the locale (e.g., "en_US", "vi")
      */
     public static void setLocale(String localeName) {
-        faker = new Faker(new Locale(localeName));
+        locale = new Locale(localeName);
+        DataPools.clear();
+    }
+
+    public static Locale getLocale() {
+        return locale;
+    }
+
+    private static final class LocalFaker {
+        private final Faker faker;
+        private final Locale locale;
+
+        private LocalFaker(Faker faker, Locale locale) {
+            this.faker = faker;
+            this.locale = locale;
+        }
     }
 }
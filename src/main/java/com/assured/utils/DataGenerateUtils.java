@@ -3,7 +3,7 @@ package com.assured.utils;
 import org.testng.annotations.Test;
 
 import java.math.BigInteger;
-import java.security.SecureRandom;
+import java.util.SplittableRandom;
 import java.util.UUID;
 
 import static com.assured.utils.DataFakerUtils.getFaker;
@@ -15,10 +15,9 @@ public class DataGenerateUtils {
     }
 
     private static final String AB = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
-    private static SecureRandom random = new SecureRandom();
-
     // Generates a random alphanumeric string of given length
     public static String randomString(int length) {
+        SplittableRandom random = SeededRandom.current();
         StringBuilder sb = new StringBuilder(length);
         for (int i = 0; i < length; i++) {
             sb.append(AB.charAt(random.nextInt(AB.length())));
@@ -28,27 +27,27 @@ public class DataGenerateUtils {
 
     // Generates a random string with hexadecimal encoding (based on byte length)
     public static String randomStringHexToken(int byteLength) {
-        SecureRandom secureRandom = new SecureRandom();
         byte[] token = new byte[byteLength];
-        secureRandom.nextBytes(token);
+        SeededRandom.current().nextBytes(token);
         return new BigInteger(1, token).toString(16); // Hexadecimal encoding
     }
 
-    // Generates a random UUID string
+    // Generates a random version 4 UUID string from the test's random stream
     public static String randomStringUUID() {
-        String uuid = UUID.randomUUID().toString();
-        return uuid;
+        SplittableRandom random = SeededRandom.current();
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least).toString();
     }
 
     // Generates a random integer between given range (from, to)
     public static int randomNumberIntFromTo(int from, int to) {
-        int random_int = (int) Math.floor(Math.random() * (to - from + 1) + from);
-        return random_int;
+        return SeededRandom.current().nextInt(from, to + 1);
     }
 
-    // Generates a random full name using Faker
+    // Takes a random full name from the pre-generated pool (Faker on the calling thread if empty)
     public static String randomFullName() {
-        return getFaker().name().fullName();
+        return DataPools.take(DataPools.Kind.FULL_NAME);
     }
 
     // Generates a random country using Faker
@@ -61,9 +60,9 @@ public class DataGenerateUtils {
         return getFaker().address().zipCode();
     }
 
-    // Generates a random full address using Faker
+    // Takes a random full address from the pre-generated pool (Faker on the calling thread if empty)
     public static String randomAddress() {
-        return getFaker().address().fullAddress();
+        return DataPools.take(DataPools.Kind.ADDRESS);
     }
 
     // Generates a random city name using Faker
@@ -83,26 +82,32 @@ public class DataGenerateUtils {
 
     // Generates a random 10-digit phone number (numeric)
     public static String randomPhoneNumber() {
-        return generateRandomNumericString(10);
+        return DataPools.take(DataPools.Kind.PHONE_NUMBER);
     }
 
     // Generates a random 10-digit Tax ID number (numeric)
     public static String randomTaxId() {
-        return generateRandomNumericString(10);
+        return DataPools.take(DataPools.Kind.TAX_ID);
     }
 
-    // Generates a random 10-digit NPI number (numeric)
+    // Generates a random 10-digit NPI number with a valid Luhn check digit
     public static String randomNpiNumber() {
-        return generateRandomNumericString(10);
+        return DataPools.take(DataPools.Kind.NPI_NUMBER);
     }
 
-    // Helper method to generate a random numeric string of given length
-    private static String generateRandomNumericString(int length) {
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            sb.append(random.nextInt(10)); // Adds a random digit (0-9)
-        }
-        return sb.toString();
+    // Allocates a 10-digit NPI number unique across threads, workers and nodes (see IdAllocator)
+    public static String uniqueNpiNumber() {
+        return IdAllocator.npiNumber();
+    }
+
+    // Allocates a 10-digit Tax ID unique across threads, workers and nodes (see IdAllocator)
+    public static String uniqueTaxId() {
+        return IdAllocator.taxId();
+    }
+
+    // Allocates a unique email address, e.g. uniqueEmail("admin", "example.com")
+    public static String uniqueEmail(String prefix, String domain) {
+        return IdAllocator.mailbox(prefix) + "@" + domain;
     }
 
     // Test method to check the generation of random data
@@ -121,5 +126,8 @@ public class DataGenerateUtils {
         System.out.println(randomPhoneNumber());
         System.out.println(randomTaxId());
         System.out.println(randomNpiNumber());
+        System.out.println(uniqueNpiNumber());
+        System.out.println(uniqueTaxId());
+        System.out.println(uniqueEmail("admin", "example.com"));
     }
 }
@@ -0,0 +1,133 @@
+package com.assured.utils;
+
+import com.assured.constants.FrameworkConstants;
+import net.datafaker.Faker;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * DataPools keeps bounded pools of generated test data, filled by one background thread, so a test thread
+ * takes a name or an address in O(1) instead of resolving Faker expressions. When a pool is empty the value
+ * is generated on the calling thread with its own Faker: take() never blocks.
+ * The pool size per kind is DATA_POOL_SIZE; 0 disables the pools, and so does REPRODUCIBLE_DATA=yes.
+ */
+public final class DataPools {
+
+    public enum Kind {
+        FULL_NAME(faker -> faker.name().fullName()),
+        ADDRESS(faker -> faker.address().fullAddress()),
+        PHONE_NUMBER(faker -> digits(10)),
+        TAX_ID(faker -> digits(10)),
+        NPI_NUMBER(faker -> npi());
+
+        private final Function<Faker, String> generator;
+
+        Kind(Function<Faker, String> generator) {
+            this.generator = generator;
+        }
+
+        String generate(Faker faker) {
+            return generator.apply(faker);
+        }
+    }
+
+    private static final int POOL_SIZE = Integer.parseInt(FrameworkConstants.DATA_POOL_SIZE.trim());
+    private static final Map<Kind, ArrayBlockingQueue<String>> pools = new EnumMap<>(Kind.class);
+    private static final Map<Kind, AtomicBoolean> refilling = new EnumMap<>(Kind.class);
+    private static final ExecutorService generator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "data-pool-generator");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    static {
+        for (Kind kind : Kind.values()) {
+            pools.put(kind, new ArrayBlockingQueue<>(Math.max(1, POOL_SIZE)));
+            refilling.put(kind, new AtomicBoolean());
+        }
+    }
+
+    private DataPools() {
+    }
+
+    /**
+     * @return a value of this kind, from the pool when it has one.
+     */
+    public static String take(Kind kind) {
+        if (POOL_SIZE <= 0 || SeededRandom.isReproducible()) {
+            return kind.generate(DataFakerUtils.getFaker());
+        }
+        ArrayBlockingQueue<String> pool = pools.get(kind);
+        String value = pool.poll();
+        if (pool.size() < POOL_SIZE / 2) {
+            refill(kind);
+        }
+        return value != null ? value : kind.generate(DataFakerUtils.getFaker());
+    }
+
+    /**
+     * Starts filling every pool, e.g. at suite start, so the first tests already find values.
+     */
+    public static void prefill() {
+        if (POOL_SIZE > 0 && !SeededRandom.isReproducible()) {
+            for (Kind kind : Kind.values()) {
+                refill(kind);
+            }
+        }
+    }
+
+    /**
+     * Drops the pooled values, e.g. after a locale change.
+     */
+    public static void clear() {
+        pools.values().forEach(ArrayBlockingQueue::clear);
+    }
+
+    public static int size(Kind kind) {
+        return pools.get(kind).size();
+    }
+
+    //At most one refill per kind is queued; it fills the pool to the top and stops
+    private static void refill(Kind kind) {
+        AtomicBoolean running = refilling.get(kind);
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        generator.execute(() -> {
+            try {
+                ArrayBlockingQueue<String> pool = pools.get(kind);
+                Faker faker = DataFakerUtils.getFaker();
+                while (pool.remainingCapacity() > 0 && pool.offer(kind.generate(faker))) {
+                    // filled one
+                }
+            } catch (RuntimeException e) {
+                LogUtils.warn("Cannot fill data pool " + kind + ": " + e.getMessage());
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    //1 or 2, 8 digits and the Luhn check digit over the 80840 prefix, like a real NPI
+    private static String npi() {
+        String base = (1 + SeededRandom.current().nextInt(2)) + digits(8);
+        return base + IdAllocator.luhnCheckDigit("80840" + base);
+    }
+
+    private static String digits(int length) {
+        SplittableRandom random = SeededRandom.current();
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('0' + random.nextInt(10));
+        }
+        return new String(chars);
+    }
+}
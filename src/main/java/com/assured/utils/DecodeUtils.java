@@ -5,7 +5,12 @@ import org.apache.commons.codec.binary.Base64;
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
 
+/**
+ * Legacy AES/ECB helpers for values encrypted with assured_cryptography_key.
+ * New test credentials belong in the SecretVault (AES-GCM, key outside the repository).
+ */
 public final class DecodeUtils {
 
     private DecodeUtils() {
@@ -19,19 +24,26 @@ public final class DecodeUtils {
 
     private static final String encryptionKeyString = FrameworkConstants.ASSURED_CRYPTOGRAPHY_KEY;
     private static final byte[] encryptionKeyBytes = encryptionKeyString.getBytes();
+    private static final SecretKey key = new SecretKeySpec(encryptionKeyBytes, key1);
 
-    private static SecretKey generateKey() {
-        SecretKey key = new SecretKeySpec(encryptionKeyBytes, key1);
-        return key;
+    //Cipher is not thread-safe: one initialised instance per thread and mode, reused for every call
+    private static final ThreadLocal<Cipher> encryptCiphers = ThreadLocal.withInitial(() -> newCipher(Cipher.ENCRYPT_MODE));
+    private static final ThreadLocal<Cipher> decryptCiphers = ThreadLocal.withInitial(() -> newCipher(Cipher.DECRYPT_MODE));
+
+    private static Cipher newCipher(int mode) {
+        try {
+            Cipher c = Cipher.getInstance(key2);
+            c.init(mode, key);
+            return c;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot create " + key2 + " cipher", e);
+        }
     }
 
     public static String encrypt(String Data) {
         String encryptedValue = null;
         try {
-            SecretKey key = generateKey();
-            Cipher c = Cipher.getInstance(key2);
-            c.init(Cipher.ENCRYPT_MODE, key);
-            byte[] encVal = c.doFinal(Data.getBytes());
+            byte[] encVal = encryptCiphers.get().doFinal(Data.getBytes());
             encryptedValue = Base64.encodeBase64String(encVal);
         } catch (Exception e) {
             e.printStackTrace();
@@ -42,11 +54,8 @@ public final class DecodeUtils {
     public static String decrypt(String encryptedData) {
         String decryptedValue = null;
         try {
-            SecretKey key = generateKey();
-            Cipher c = Cipher.getInstance(key2);
-            c.init(Cipher.DECRYPT_MODE, key);
             byte[] decordedValue = Base64.decodeBase64(encryptedData);
-            byte[] decValue = c.doFinal(decordedValue);
+            byte[] decValue = decryptCiphers.get().doFinal(decordedValue);
             decryptedValue = new String(decValue);
         } catch (Exception e) {
             e.printStackTrace();
@@ -0,0 +1,80 @@
+package com.assured.utils;
+
+import com.assured.enums.FailureType;
+import com.microsoft.playwright.TimeoutError;
+
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * FailureUtils classifies test failures from the throwable type and message, so that only
+ * infrastructure hiccups (timeouts, closed targets, network errors) are retried.
+ */
+public final class FailureUtils {
+
+    // Lower-case fragments of Playwright / driver messages that point to the environment, not the application.
+    private static final List<String> TRANSIENT_MESSAGES = List.of(
+            "timeout",
+            "target closed",
+            "target page, context or browser has been closed",
+            "browser has been closed",
+            "browser has disconnected",
+            "page crashed",
+            "net::err_",
+            "ns_error_",
+            "econnreset",
+            "econnrefused",
+            "socket hang up",
+            "connection reset",
+            "navigation failed because page was closed"
+    );
+
+    private FailureUtils() {
+        super();
+    }
+
+    /**
+     * Walks the cause chain of a failure. Assertions win over everything else: a test that asserted wrong
+     * data must never be hidden by a retry.
+     *
+     * @param throwable the failure of a test.
+     * @return the failure type.
+     */
+    public static FailureType classify(Throwable throwable) {
+        if (throwable == null) {
+            return FailureType.UNKNOWN;
+        }
+        FailureType type = FailureType.UNKNOWN;
+        for (Throwable t = throwable; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof AssertionError) {
+                return FailureType.ASSERTION;
+            }
+            if (type == FailureType.UNKNOWN && isTransient(t)) {
+                type = FailureType.TRANSIENT;
+            }
+        }
+        return type;
+    }
+
+    private static boolean isTransient(Throwable t) {
+        if (t instanceof TimeoutError || t instanceof TimeoutException || t instanceof SocketTimeoutException
+                || t instanceof ConnectException || t instanceof UnknownHostException || t instanceof SocketException) {
+            return true;
+        }
+        String message = t.getMessage();
+        if (message == null) {
+            return false;
+        }
+        String lower = message.toLowerCase();
+        for (String fragment : TRANSIENT_MESSAGES) {
+            if (lower.contains(fragment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,226 @@
+package com.assured.utils;
+
+import com.assured.constants.FrameworkConstants;
+import com.assured.helpers.SystemHelpers;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * IdAllocator hands out IDs for test entities that are unique across threads, worker JVMs and machines:
+ * each node owns a slice of the ID space.
+ * <ul>
+ * <li>next(): a 64-bit Snowflake-style ID, 41 bits of milliseconds since 2024-01-01, 10 bits of node,
+ * 12 bits of sequence.</li>
+ * <li>npiNumber(), taxId(): 10 digits, the node in the first digits and a per-node sequence after it.
+ * Runs reserve blocks of the sequence in ID_STATE_PATH (a high-water mark per node, locked across processes),
+ * so a run never reuses the numbers of an earlier run on the same machine until the sequence wraps
+ * (200,000 NPIs or 10,000,000 Tax IDs per node). Blocks start small and double as the run uses them up,
+ * so a run that needs a few numbers only skips a few.</li>
+ * <li>mailbox(prefix): {@code prefix-<next() in base 36>}, valid as an email local part.</li>
+ * </ul>
+ * The node is ID_NODE (0-999). DistributedCoordinator gives each of its workers its own node; set ID_NODE by hand
+ * for other concurrent JVMs (e.g. -DID_NODE=3). If it is empty, the node is a hash of the host name and process ID,
+ * and two concurrent JVMs can draw the same node: IDs are then not guaranteed collision-free.
+ */
+public final class IdAllocator {
+
+    private static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int NODE_COUNT = 1000; // fits the 3 decimal digits of the short formats
+    private static final long NPI_DIGITS_SIZE = 100_000L; // the 5 sequence digits after the node
+    private static final long NPI_SEQUENCE_SIZE = 2 * NPI_DIGITS_SIZE; // both valid leading digits, 1 and 2
+    private static final long TAX_ID_SEQUENCE_SIZE = 10_000_000L;
+    private static final long MIN_BLOCK_SIZE = 10;
+
+    private static final int NODE = initNode();
+    //Last issued Snowflake state: (timestamp << SEQUENCE_BITS) | sequence
+    private static final AtomicLong lastState = new AtomicLong();
+    private static final Sequence npiSequence = new Sequence("npi", NPI_SEQUENCE_SIZE, 1_000);
+    private static final Sequence taxIdSequence = new Sequence("taxId", TAX_ID_SEQUENCE_SIZE, 10_000);
+
+    private IdAllocator() {
+    }
+
+    /**
+     * @return a unique, increasing 64-bit ID.
+     */
+    public static long next() {
+        while (true) {
+            long previous = lastState.get();
+            long now = System.currentTimeMillis() - EPOCH;
+            long previousTime = previous >>> SEQUENCE_BITS;
+            long state;
+            if (now > previousTime) {
+                state = now << SEQUENCE_BITS;
+            } else if ((previous & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                // Same millisecond, or the clock went back: keep counting from the last issued time
+                state = previous + 1;
+            } else {
+                // 4096 IDs in this millisecond: borrow the next one
+                state = (previousTime + 1) << SEQUENCE_BITS;
+            }
+            if (lastState.compareAndSet(previous, state)) {
+                long time = state >>> SEQUENCE_BITS;
+                return (time << (NODE_BITS + SEQUENCE_BITS)) | ((long) NODE << SEQUENCE_BITS) | (state & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * @return a 10-digit NPI: 1 or 2, the node (3 digits), a sequence (5 digits) and the Luhn check digit
+     * computed with the 80840 prefix, as the NPI standard requires.
+     */
+    public static String npiNumber() {
+        long sequence = npiSequence.next();
+        String base = (1 + sequence / NPI_DIGITS_SIZE) + String.format("%03d%05d", NODE, sequence % NPI_DIGITS_SIZE);
+        return base + luhnCheckDigit("80840" + base);
+    }
+
+    /**
+     * @return a 10-digit Tax ID: the node (3 digits) and a sequence (7 digits).
+     */
+    public static String taxId() {
+        long sequence = taxIdSequence.next();
+        return String.format("%03d%07d", NODE, sequence);
+    }
+
+    /**
+     * @return a unique mailbox name, e.g. {@code admin-2k9x1c0q4w}.
+     */
+    public static String mailbox(String prefix) {
+        return prefix + "-" + Long.toString(next(), 36);
+    }
+
+    public static int getNode() {
+        return NODE;
+    }
+
+    /**
+     * @return true if the number passes the Luhn check, e.g. isValidLuhn("80840" + npi) for an NPI.
+     */
+    public static boolean isValidLuhn(String digits) {
+        return luhnCheckDigit(digits.substring(0, digits.length() - 1)) == digits.charAt(digits.length() - 1) - '0';
+    }
+
+    static int luhnCheckDigit(String digits) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * A per-node sequence handed out from blocks reserved in ID_STATE_PATH. Numbers left in a block at the
+     * end of the run are skipped, never reused. The first block is small and each next one twice as large,
+     * up to maxBlockSize, so the numbers skipped stay in proportion to the numbers used.
+     */
+    private static final class Sequence {
+        private final String name;
+        private final long size;
+        private final long maxBlockSize;
+        private long blockSize = MIN_BLOCK_SIZE;
+        private long next;
+        private long end;
+
+        private Sequence(String name, long size, long maxBlockSize) {
+            this.name = name;
+            this.size = size;
+            this.maxBlockSize = maxBlockSize;
+        }
+
+        private synchronized long next() {
+            if (next == end) {
+                next = reserve(name + "." + NODE, blockSize);
+                end = next + blockSize;
+                blockSize = Math.min(blockSize * 2, maxBlockSize);
+                // The block starts on, or runs over, a multiple of the sequence size
+                if (next > 0 && (next - 1) / size != (end - 1) / size) {
+                    LogUtils.warn(name + " sequence of node " + NODE + " wrapped: numbers of earlier runs are reused."
+                            + " Use another ID_NODE or reset " + FrameworkConstants.ID_STATE_PATH);
+                }
+            }
+            return next++ % size;
+        }
+    }
+
+    /**
+     * Reserves the next block of a sequence: reads the high-water mark and moves it forward under a file lock,
+     * so parallel JVMs on this machine get disjoint blocks.
+     *
+     * @return the first number of the block.
+     */
+    private static synchronized long reserve(String key, long blockSize) {
+        Path file = Paths.get(SystemHelpers.getCurrentDir(), FrameworkConstants.ID_STATE_PATH.trim());
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+                channel.read(content, 0);
+                Properties state = new Properties();
+                state.load(new StringReader(new String(content.array(), 0, content.position(), StandardCharsets.ISO_8859_1)));
+                long start = Long.parseLong(state.getProperty(key, "0"));
+                state.setProperty(key, String.valueOf(start + blockSize));
+                StringWriter writer = new StringWriter();
+                state.store(writer, "IdAllocator high-water marks: <sequence>.<node> = next free number");
+                channel.truncate(0);
+                channel.write(ByteBuffer.wrap(writer.toString().getBytes(StandardCharsets.ISO_8859_1)), 0);
+                return start;
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Without the state file, fall back to a time based block: distinct per minute, not guaranteed per run
+            long fallback = (System.currentTimeMillis() - EPOCH) / 60_000 * blockSize;
+            LogUtils.warn("Cannot reserve " + key + " IDs in " + file + " (" + e.getMessage() + "), using block " + fallback);
+            return fallback;
+        }
+    }
+
+    private static int initNode() {
+        String configured = FrameworkConstants.ID_NODE == null ? "" : FrameworkConstants.ID_NODE.trim();
+        int node;
+        if (!configured.isEmpty()) {
+            node = Integer.parseInt(configured);
+            if (node < 0 || node >= NODE_COUNT) {
+                throw new IllegalArgumentException("ID_NODE must be between 0 and " + (NODE_COUNT - 1) + ": " + node);
+            }
+        } else {
+            String host;
+            try {
+                host = InetAddress.getLocalHost().getHostName();
+            } catch (UnknownHostException e) {
+                host = "localhost";
+            }
+            String identity = host + "/" + ManagementFactory.getRuntimeMXBean().getName();
+            node = Math.floorMod(identity.hashCode(), NODE_COUNT);
+            LogUtils.info("ID_NODE not set, using node " + node + " derived from " + identity);
+        }
+        return node;
+    }
+}
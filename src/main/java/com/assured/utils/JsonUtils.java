@@ -3,13 +3,14 @@
 package com.assured.utils;
 
 import com.assured.constants.FrameworkConstants;
+import com.assured.data.JsonDataStore;
 import com.assured.helpers.SystemHelpers;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.jayway.jsonpath.DocumentContext;
-import com.jayway.jsonpath.JsonPath;
 
-import java.io.*;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -23,12 +24,9 @@ public class JsonUtils {
     //Jackson
     private static Map<String, String> CONFIGMAP;
 
-    //Json Path
-    private static BufferedReader bufferedReader;
-    private static StringBuffer stringBuffer;
-    private static DocumentContext jsonContext;
-    private static String lines;
-    private static String jsonFilePathDefault = SystemHelpers.getCurrentDir() + "src/test/resources/datajson/store.json";
+    //Json Path: the current document, an immutable store swapped atomically by setJsonFile
+    private static final String jsonFilePathDefault = "src/test/resources/datajson/store.json";
+    private static volatile JsonDataStore jsonStore;
 
     private JsonUtils() {
         super();
@@ -60,59 +58,32 @@ public class JsonUtils {
     }
 
     public static StringBuffer readJsonFile(String jsonPath) {
-        try {
-            bufferedReader = new BufferedReader(new FileReader(SystemHelpers.getCurrentDir() + jsonPath));
-            stringBuffer = new StringBuffer();
-            while ((lines = bufferedReader.readLine()) != null) {
-                stringBuffer.append(lines);
-            }
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        return stringBuffer;
+        return new StringBuffer(JsonDataStore.of(jsonPath).toJson());
     }
 
     public static void setJsonFile(String jsonPath) {
-        try {
-            bufferedReader = new BufferedReader(new FileReader(SystemHelpers.getCurrentDir() + jsonPath));
-            stringBuffer = new StringBuffer();
-            while ((lines = bufferedReader.readLine()) != null) {
-                stringBuffer.append(lines);
-            }
-            jsonContext = JsonPath.parse(stringBuffer.toString());
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        jsonStore = JsonDataStore.of(jsonPath);
     }
 
     public static String getJsonDataSourceString() {
-        if (stringBuffer == null) {
-            try {
-                bufferedReader = new BufferedReader(new FileReader(jsonFilePathDefault));
-                stringBuffer = new StringBuffer();
-                while ((lines = bufferedReader.readLine()) != null) {
-                    stringBuffer.append(lines);
-                }
-                jsonContext = JsonPath.parse(stringBuffer.toString());
-            } catch (FileNotFoundException e) {
-                e.printStackTrace();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }
-        return stringBuffer.toString();
+        return getJsonStore().toJson();
     }
 
     public static Object getData(String key) {
-        if (jsonContext == null) {
-            getJsonDataSourceString();
+        return getJsonStore().read(key);
+    }
+
+    public static <T> T getData(String key, Class<T> type) {
+        return getJsonStore().read(key, type);
+    }
+
+    private static JsonDataStore getJsonStore() {
+        JsonDataStore store = jsonStore;
+        if (store == null) {
+            store = JsonDataStore.of(jsonFilePathDefault);
+            jsonStore = store;
         }
-        //JsonPath.read(getJsonDataSourceString(), key);
-        return jsonContext.read(key);
+        return store;
     }
 
 }
@@ -1,14 +1,48 @@
-
-
 package com.assured.utils;
 
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AsyncAppender;
+import org.apache.logging.log4j.core.appender.routing.RoutingAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.StringMap;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 public class LogUtils {
     //Initialize Log4j2 instance
     private static final Logger LOGGER = LogManager.getLogger(LogUtils.class);
 
+    //Per-test log file, see RoutingAppender in log4j2.properties
+    private static final String TEST_LOG_KEY = "testName";
+    private static final String TEST_LOG_APPENDER = "RoutingAppender";
+    private static final String TEST_LOG_ASYNC_APPENDER = "AsyncRoutingAppender";
+    private static final long TEST_LOG_DRAIN_MILLIS = 2000;
+    private static final String TEST_LOG_FOLDER = "logs/tests";
+    //Marker event sent behind the events of one test, see drainTestLog; it is never written
+    private static final Marker TEST_LOG_DRAINED = MarkerManager.getMarker("TEST_LOG_DRAINED");
+    private static final Map<String, CountDownLatch> pendingDrains = new ConcurrentHashMap<>();
+    private static final AtomicLong drainIds = new AtomicLong();
+    private static volatile RoutingAppender drainFilterTarget;
+
     //Info Level Logs
     public static void info(String message) {
         LOGGER.info(message);
@@ -19,7 +53,14 @@ public class LogUtils {
     }
 
     public static void info(String message, Throwable throwable) {
-        LOGGER.info(message);
+        LOGGER.info(message, throwable);
+    }
+
+    //The message is only built when the level is enabled
+    public static void info(Supplier<String> message) {
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info(message.get());
+        }
     }
 
     //Warn Level Logs
@@ -31,13 +72,23 @@ public class LogUtils {
         LOGGER.warn(message);
     }
 
+    public static void warn(String message, Throwable throwable) {
+        LOGGER.warn(message, throwable);
+    }
+
+    public static void warn(Supplier<String> message) {
+        if (LOGGER.isWarnEnabled()) {
+            LOGGER.warn(message.get());
+        }
+    }
+
     //Error Level Logs
     public static void error(String message) {
         LOGGER.error(message);
     }
 
     public static void error(String message, Throwable throwable) {
-        LOGGER.error(message);
+        LOGGER.error(message, throwable);
     }
 
     public static void error(Object message) {
@@ -45,7 +96,13 @@ public class LogUtils {
     }
 
     public static void error(Object message, Throwable throwable) {
-        LOGGER.error(message);
+        LOGGER.error(message, throwable);
+    }
+
+    public static void error(Supplier<String> message) {
+        if (LOGGER.isErrorEnabled()) {
+            LOGGER.error(message.get());
+        }
     }
 
     //Fatal Level Logs
@@ -65,4 +122,115 @@ public class LogUtils {
     public static void debug(Object message) {
         LOGGER.debug(message);
     }
+
+    public static void debug(Supplier<String> message) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(message.get());
+        }
+    }
+
+    //Per-test Logs
+    /**
+     * Routes the logs of the current thread to their own file until {@link #stopTestLog()} or the next test
+     * started on the thread, so the logs of the test's teardown are kept in its file too.
+     *
+     * @param testKey a unique, file-name safe key of the test invocation.
+     */
+    public static void startTestLog(String testKey) {
+        stopTestLog();
+        ThreadContext.put(TEST_LOG_KEY, testKey);
+    }
+
+    /**
+     * @return the log file of the test running on the current thread, or null outside of a test.
+     * The events the test queued are written first and the file appender flushes every event, so the file can be read while it is open.
+     */
+    public static Path getTestLogFile() {
+        String testKey = ThreadContext.get(TEST_LOG_KEY);
+        if (testKey == null) {
+            return null;
+        }
+        drainTestLog(testKey);
+        return Paths.get(TEST_LOG_FOLDER, testKey + ".log");
+    }
+
+    /**
+     * Stops routing the logs of the current thread and closes the test log file.
+     *
+     * @return the test log file, or null if no test log was started on this thread.
+     */
+    public static Path stopTestLog() {
+        String testKey = ThreadContext.get(TEST_LOG_KEY);
+        if (testKey == null) {
+            return null;
+        }
+        ThreadContext.remove(TEST_LOG_KEY);
+        // Events of the test still queued would open the file again once its route is released.
+        drainTestLog(testKey);
+        // Releasing the route stops its File appender, which flushes and closes the file.
+        Appender appender = ((LoggerContext) LogManager.getContext(false)).getConfiguration().getAppender(TEST_LOG_APPENDER);
+        if (appender instanceof RoutingAppender) {
+            ((RoutingAppender) appender).deleteAppender(testKey);
+        }
+        return Paths.get(TEST_LOG_FOLDER, testKey + ".log");
+    }
+
+    //Waits, for a bounded time, until the events the test logged so far are written to its file. A marker event
+    //for the test is queued behind them and caught by DrainFilter in front of the per-test files: the async appender
+    //hands events over in order, so the test waits for its own events only, not for the logging of other threads.
+    private static void drainTestLog(String testKey) {
+        Configuration configuration = ((LoggerContext) LogManager.getContext(false)).getConfiguration();
+        Appender async = configuration.getAppender(TEST_LOG_ASYNC_APPENDER);
+        Appender routing = configuration.getAppender(TEST_LOG_APPENDER);
+        if (!(async instanceof AsyncAppender) || !(routing instanceof RoutingAppender) || !async.isStarted()) {
+            return;
+        }
+        installDrainFilter((RoutingAppender) routing);
+
+        String drainId = String.valueOf(drainIds.incrementAndGet());
+        CountDownLatch drained = new CountDownLatch(1);
+        pendingDrains.put(drainId, drained);
+        try {
+            StringMap contextData = ContextDataFactory.createContextData();
+            contextData.putValue(TEST_LOG_KEY, testKey);
+            async.append(Log4jLogEvent.newBuilder()
+                    .setLoggerName(LogUtils.class.getName())
+                    .setLevel(Level.INFO)
+                    .setMarker(TEST_LOG_DRAINED)
+                    .setMessage(new SimpleMessage(drainId))
+                    .setContextData(contextData)
+                    .setTimeMillis(System.currentTimeMillis())
+                    .build());
+            drained.await(TEST_LOG_DRAIN_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pendingDrains.remove(drainId);
+        }
+    }
+
+    //Once per RoutingAppender: a reconfiguration creates a new one
+    private static synchronized void installDrainFilter(RoutingAppender routing) {
+        if (drainFilterTarget != routing) {
+            DrainFilter filter = new DrainFilter();
+            filter.start();
+            routing.addFilter(filter);
+            drainFilterTarget = routing;
+        }
+    }
+
+    //Releases the test waiting for a drain marker and keeps the marker out of the test file
+    private static final class DrainFilter extends AbstractFilter {
+        @Override
+        public Result filter(LogEvent event) {
+            if (!TEST_LOG_DRAINED.equals(event.getMarker())) {
+                return Result.NEUTRAL;
+            }
+            CountDownLatch drained = pendingDrains.get(event.getMessage().getFormattedMessage());
+            if (drained != null) {
+                drained.countDown();
+            }
+            return Result.DENY;
+        }
+    }
 }
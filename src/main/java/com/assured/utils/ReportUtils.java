@@ -46,7 +46,8 @@ public final class ReportUtils {
      * @throws FrameworkException                        if an IOException occurs while opening the file.
      */
     public static void openReports(String linkReport) {
-        if (OPEN_REPORTS_AFTER_EXECUTION.trim().equalsIgnoreCase(YES)) {
+        // Worker JVMs and CI agents have no desktop to open the report on.
+        if (OPEN_REPORTS_AFTER_EXECUTION.trim().equalsIgnoreCase(YES) && Desktop.isDesktopSupported()) {
             try {
                 File reportFile = new File(linkReport);
                 if (!reportFile.exists()) {
@@ -0,0 +1,253 @@
+package com.assured.utils;
+
+import com.assured.config.ConfigService;
+import com.assured.exceptions.FrameworkException;
+import com.assured.helpers.SystemHelpers;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SecretVault holds the test credentials. Test data and config refer to them as {@code vault:<name>}
+ * (e.g. a PASSWORD cell {@code vault:admin.password}), so plaintext is never stored in sheets or properties.
+ * <p>
+ * The vault file (VAULT_PATH) has one entry per line, {@code name = base64(iv) : base64(ciphertext + tag)},
+ * each sealed with AES-256-GCM, its own 12-byte IV and the name as associated data, so an entry cannot be
+ * altered or moved to another name unnoticed. The key comes from the ASSURED_VAULT_KEY environment variable
+ * or system property (base64 of 32 bytes), never from a file in the repository.
+ * <p>
+ * All entries are decrypted once, on first use or at suite start, into one direct buffer outside the heap;
+ * lookups copy from it without locking, and close() zeroes it at suite end.
+ * <pre>
+ * java -cp ... com.assured.utils.SecretVault keygen
+ * echo -n 'P@ssw0rd' | java -cp ... com.assured.utils.SecretVault put admin.password
+ * </pre>
+ */
+public final class SecretVault {
+
+    public static final String PREFIX = "vault:";
+    public static final String KEY_VARIABLE = "ASSURED_VAULT_KEY";
+
+    private static final String HEADER = "# assured-vault v1 - AES-256-GCM";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static volatile SecretVault instance;
+
+    private final ByteBuffer plaintext;
+    private final Map<String, int[]> entries;
+
+    private SecretVault(ByteBuffer plaintext, Map<String, int[]> entries) {
+        this.plaintext = plaintext;
+        this.entries = entries;
+    }
+
+    /**
+     * Decrypts the vault now rather than on the first lookup, e.g. at suite start.
+     */
+    public static void load() {
+        get();
+    }
+
+    /**
+     * @return the secret, e.g. get("admin.password").
+     * @throws FrameworkException if the vault has no such entry or cannot be opened.
+     */
+    public static String get(String name) {
+        SecretVault vault = get();
+        int[] entry = vault.entries.get(name);
+        if (entry == null) {
+            throw new FrameworkException("No secret '" + name + "' in the vault");
+        }
+        byte[] bytes = new byte[entry[1]];
+        vault.plaintext.get(entry[0], bytes);
+        try {
+            return new String(bytes, StandardCharsets.UTF_8);
+        } finally {
+            Arrays.fill(bytes, (byte) 0);
+        }
+    }
+
+    /**
+     * @return the secret for a {@code vault:<name>} reference, or the value itself if it is not one.
+     */
+    public static String resolve(String value) {
+        if (value == null || !value.startsWith(PREFIX)) {
+            return value;
+        }
+        return get(value.substring(PREFIX.length()).trim());
+    }
+
+    public static boolean contains(String name) {
+        return get().entries.containsKey(name);
+    }
+
+    /**
+     * Zeroes the decrypted secrets. A later lookup decrypts the vault again.
+     */
+    public static synchronized void close() {
+        SecretVault vault = instance;
+        if (vault != null) {
+            instance = null;
+            for (int i = 0; i < vault.plaintext.capacity(); i++) {
+                vault.plaintext.put(i, (byte) 0);
+            }
+        }
+    }
+
+    private static SecretVault get() {
+        SecretVault vault = instance;
+        if (vault == null) {
+            synchronized (SecretVault.class) {
+                vault = instance;
+                if (vault == null) {
+                    vault = open(getVaultPath(), getKey());
+                    instance = vault;
+                }
+            }
+        }
+        return vault;
+    }
+
+    private static SecretVault open(Path file, byte[] key) {
+        if (!Files.isRegularFile(file)) {
+            LogUtils.warn("Secret vault not found: " + file);
+            return new SecretVault(ByteBuffer.allocateDirect(0), Map.of());
+        }
+        long start = System.nanoTime();
+        Map<String, byte[]> decrypted = new LinkedHashMap<>();
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            SecretKeySpec keySpec = new SecretKeySpec(key, "AES");
+            for (Map.Entry<String, String> entry : readEntries(file).entrySet()) {
+                String[] parts = entry.getValue().split(":");
+                if (parts.length != 2) {
+                    throw new FrameworkException("Malformed vault entry '" + entry.getKey() + "' in " + file);
+                }
+                cipher.init(Cipher.DECRYPT_MODE, keySpec, new GCMParameterSpec(TAG_BITS, Base64.getDecoder().decode(parts[0].trim())));
+                cipher.updateAAD(entry.getKey().getBytes(StandardCharsets.UTF_8));
+                decrypted.put(entry.getKey(), cipher.doFinal(Base64.getDecoder().decode(parts[1].trim())));
+            }
+        } catch (GeneralSecurityException e) {
+            throw new FrameworkException("Cannot decrypt the secret vault " + file + ": wrong key or altered entry", e);
+        } finally {
+            Arrays.fill(key, (byte) 0);
+        }
+        int size = decrypted.values().stream().mapToInt(value -> value.length).sum();
+        ByteBuffer plaintext = ByteBuffer.allocateDirect(size);
+        Map<String, int[]> entries = new HashMap<>();
+        for (Map.Entry<String, byte[]> entry : decrypted.entrySet()) {
+            byte[] value = entry.getValue();
+            entries.put(entry.getKey(), new int[]{plaintext.position(), value.length});
+            plaintext.put(value);
+            Arrays.fill(value, (byte) 0);
+        }
+        LogUtils.info("Opened secret vault: " + entries.size() + " entries in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return new SecretVault(plaintext, entries);
+    }
+
+    /**
+     * Encrypts a secret and adds or replaces its entry in the vault file.
+     */
+    public static synchronized void put(Path file, String name, String secret, byte[] key) {
+        if (!name.matches("[A-Za-z0-9_.-]+")) {
+            throw new IllegalArgumentException("Invalid secret name: " + name);
+        }
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            RANDOM.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(name.getBytes(StandardCharsets.UTF_8));
+            byte[] sealed = cipher.doFinal(secret.getBytes(StandardCharsets.UTF_8));
+
+            Map<String, String> entries = Files.isRegularFile(file) ? readEntries(file) : new LinkedHashMap<>();
+            entries.put(name, Base64.getEncoder().encodeToString(iv) + ":" + Base64.getEncoder().encodeToString(sealed));
+            List<String> lines = new ArrayList<>();
+            lines.add(HEADER);
+            entries.forEach((entryName, value) -> lines.add(entryName + " = " + value));
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, lines, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | IOException e) {
+            throw new FrameworkException("Cannot write secret '" + name + "' to " + file, e);
+        }
+        close();
+    }
+
+    /**
+     * @return a new random key, base64 encoded, for ASSURED_VAULT_KEY.
+     */
+    public static String generateKey() {
+        byte[] key = new byte[32];
+        RANDOM.nextBytes(key);
+        return Base64.getEncoder().encodeToString(key);
+    }
+
+    private static Map<String, String> readEntries(Path file) {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String trimmed = line.trim();
+                int separator = trimmed.indexOf('=');
+                if (trimmed.isEmpty() || trimmed.startsWith("#") || separator < 0) {
+                    continue;
+                }
+                entries.put(trimmed.substring(0, separator).trim(), trimmed.substring(separator + 1).trim());
+            }
+        } catch (IOException e) {
+            throw new FrameworkException("Cannot read the secret vault " + file, e);
+        }
+        return entries;
+    }
+
+    private static Path getVaultPath() {
+        Path path = Paths.get(ConfigService.get().getString("VAULT_PATH", "src/test/resources/config/secrets.vault"));
+        return path.isAbsolute() ? path : Paths.get(SystemHelpers.getCurrentDir(), path.toString());
+    }
+
+    private static byte[] getKey() {
+        String encoded = System.getProperty(KEY_VARIABLE, System.getenv(KEY_VARIABLE));
+        if (encoded == null || encoded.isBlank()) {
+            throw new FrameworkException("Set " + KEY_VARIABLE + " (environment or -D) to open the secret vault");
+        }
+        byte[] key = Base64.getDecoder().decode(encoded.trim());
+        if (key.length != 32) {
+            throw new FrameworkException(KEY_VARIABLE + " must be the base64 of 32 bytes, see SecretVault keygen");
+        }
+        return key;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 1 && args[0].equals("keygen")) {
+            System.out.println(generateKey());
+        } else if (args.length == 2 && args[0].equals("put")) {
+            // The secret is read from stdin so it does not end up in the shell history
+            String secret = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)).readLine();
+            put(getVaultPath(), args[1], secret == null ? "" : secret, getKey());
+            System.out.println("Stored '" + args[1] + "' in " + getVaultPath());
+        } else {
+            System.out.println("Usage: SecretVault keygen | SecretVault put <name> (secret on stdin)");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.assured.utils;
+
+import com.assured.constants.FrameworkConstants;
+import net.datafaker.Faker;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * SeededRandom gives every test its own random stream, derived from one run seed and the test ID, so the
+ * data a test generates depends only on the seed and on which test it is - not on thread scheduling.
+ * Rerun with RANDOM_SEED set to the seed printed in the report (e.g. -DRANDOM_SEED=...) to get the same data.
+ * <p>
+ * Streams are SplittableRandom instances confined to one thread: no locking, no shared state.
+ * Code running outside a test (data providers, listeners) gets a stream keyed by its thread name.
+ */
+public final class SeededRandom {
+
+    private static final long RUN_SEED = initSeed();
+    private static final boolean REPRODUCIBLE = FrameworkConstants.YES.equalsIgnoreCase(FrameworkConstants.REPRODUCIBLE_DATA.trim());
+    private static final ThreadLocal<SplittableRandom> streams =
+            ThreadLocal.withInitial(() -> new SplittableRandom(seedFor("thread:" + Thread.currentThread().getName())));
+
+    private SeededRandom() {
+    }
+
+    /**
+     * Starts the stream of a test on the current thread. With REPRODUCIBLE_DATA=yes, the thread's Faker is
+     * seeded from it as well and the shared DataPools are bypassed, since their order depends on timing.
+     *
+     * @param testId a stable test ID: the content-based id of the method or data-provider row
+     *               (LongestFirstScheduler.getTestId) and the retry attempt, so reordered rows keep their data.
+     */
+    public static void startTest(String testId) {
+        SplittableRandom stream = new SplittableRandom(seedFor(testId));
+        streams.set(stream);
+        if (REPRODUCIBLE) {
+            DataFakerUtils.setFaker(new Faker(DataFakerUtils.getLocale(), new Random(stream.nextLong())));
+        }
+    }
+
+    /**
+     * @return the random stream of the current thread; never share it with another thread.
+     */
+    public static SplittableRandom current() {
+        return streams.get();
+    }
+
+    public static long getRunSeed() {
+        return RUN_SEED;
+    }
+
+    public static boolean isReproducible() {
+        return REPRODUCIBLE;
+    }
+
+    private static long initSeed() {
+        String configured = FrameworkConstants.RANDOM_SEED == null ? "" : FrameworkConstants.RANDOM_SEED.trim();
+        long seed = configured.isEmpty() ? new SecureRandom().nextLong() : Long.parseLong(configured);
+        LogUtils.info("Random seed: " + seed + " (replay with RANDOM_SEED=" + seed + ")");
+        return seed;
+    }
+
+    //FNV-1a of the ID, mixed with the run seed through SplittableRandom's own mixer
+    private static long seedFor(String id) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : id.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return new SplittableRandom(RUN_SEED ^ hash).nextLong();
+    }
+}
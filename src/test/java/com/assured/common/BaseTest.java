@@ -2,34 +2,85 @@ package com.assured.common;
 
 import com.assured.driver.PlaywrightDriverManager;
 import com.assured.driver.PlaywrightFactory;
+import com.assured.fixtures.Fixtures;
+import com.assured.listeners.Retry;
+import com.assured.report.AllureManager;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Video;
 import com.assured.utils.LogUtils;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
 
+import java.nio.file.Path;
+
+import static com.assured.constants.FrameworkConstants.TRACE_MODE;
+import static com.assured.constants.FrameworkConstants.TRACE_ON;
+
 /**
  * BaseTest now uses the PlaywrightFactory to create and manage the Page instance.
+ * Fields annotated with @Inject are set from Fixtures before the first test of the class.
  */
 public class BaseTest {
 
     protected Page page;
 
+    @BeforeClass(alwaysRun = true)
+    public void injectFixtures() {
+        Fixtures.enterClass(getClass());
+        Fixtures.injectMembers(this);
+    }
+
     @Parameters("BROWSER")
     @BeforeMethod
     public void createDriver(@Optional("chromium") String browserName) {
+        Fixtures.enterTest(getClass(), getClass().getSimpleName());
+        openPage();
+    }
+
+    private void openPage() {
         LogUtils.info("Creating Playwright instance using factory method...");
         // Create a Page instance using our factory.
         // You can pass true for headless mode if needed (here we use false).
         page = PlaywrightFactory.createPage(false);
+        PlaywrightFactory.startTraceChunk(getClass().getSimpleName());
         LogUtils.info("Page instance created: " + page);
     }
 
     @AfterMethod(alwaysRun = true)
-    public void closeDriver() {
-        LogUtils.info("Closing browser and cleaning up...");
-        PlaywrightFactory.quit();
+    public void closeDriver(ITestResult result) {
+        try {
+            // Traces and videos of passing tests are discarded; TRACE_MODE = on keeps every trace.
+            boolean failed = !result.isSuccess();
+            String name = result.getMethod().getMethodName();
+            Path trace = PlaywrightFactory.stopTraceChunk(failed || TRACE_ON.equalsIgnoreCase(TRACE_MODE.trim()), name);
+            if (trace != null) {
+                LogUtils.info("Playwright trace saved: " + trace);
+                AllureManager.addAttachmentTrace(trace);
+            }
+            Video video = PlaywrightFactory.getVideo();
+
+            if (Retry.willRetry(result)) {
+                // The failure was transient and the test runs again: keep the worker's browser warm.
+                LogUtils.info("Closing browser context, keeping the browser for the retry...");
+                PlaywrightFactory.releaseContext();
+            } else {
+                LogUtils.info("Closing browser and cleaning up...");
+                PlaywrightFactory.quit();
+            }
+
+            Path videoFile = PlaywrightFactory.finishVideo(video, failed, name);
+            if (videoFile != null) {
+                LogUtils.info("Video record saved: " + videoFile);
+                AllureManager.addAttachmentVideo(videoFile);
+            }
+        } finally {
+            // Test-scoped fixtures are closed once the test, including this teardown, is over
+            Fixtures.exitTest();
+        }
     }
 
     /**
@@ -40,7 +91,7 @@ public class BaseTest {
      */
     public Page createBrowser(@Optional("chromium") String browser) {
         if (PlaywrightDriverManager.getPage() == null) {
-            createDriver(browser);
+            openPage();
         }
         return PlaywrightDriverManager.getPage();
     }
@@ -5,11 +5,12 @@ import com.assured.helpers.ExcelHelpers;
 import com.assured.helpers.SystemHelpers;
 import org.testng.annotations.DataProvider;
 
+import java.util.Iterator;
+
 public class DataProviderAddProduct {
     @DataProvider(name = "data_provider_add_product")
-    public Object[][] dataAddProduct() {
+    public Iterator<Object[]> dataAddProduct() {
         ExcelHelpers excelHelpers = new ExcelHelpers();
-        Object[][] data = excelHelpers.getDataHashTable(SystemHelpers.getCurrentDir() + FrameworkConstants.EXCEL_PROVIDER_DATA, "AddProduct", 2, 2);
-        return data;
+        return excelHelpers.getDataHashTableIterator(SystemHelpers.getCurrentDir() + FrameworkConstants.EXCEL_PROVIDER_DATA, "AddProduct", 2, 2);
     }
 }
@@ -3,29 +3,29 @@
 package com.assured.dataprovider;
 
 import com.assured.constants.FrameworkConstants;
+import com.assured.data.DataQuery;
+import com.assured.data.DataRow;
+import com.assured.data.TestDataSources;
 import com.assured.helpers.ExcelHelpers;
-import com.assured.helpers.PropertiesHelpers;
 import com.assured.helpers.SystemHelpers;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import com.assured.model.SignInModel;
 
-import java.util.Hashtable;
+import java.util.Iterator;
 
 public final class DataProviderManager {
 
     private DataProviderManager() {
         super();
-        PropertiesHelpers.loadAllFiles();
     }
 
     @Test(dataProvider = "getSignInDataHashTable")
-    public void testGetSignInData(Hashtable<String, String> data) {
-        System.out.println("signInData.testCaseName = " + data.get(SignInModel.getTestCaseName()));
-        System.out.println("signInData.username = " + data.get(SignInModel.getEmail()));
-        System.out.println("signInData.password = " + data.get(SignInModel.getPassword()));
-        System.out.println("signInData.expectedTitle = " + data.get(SignInModel.getExpectedTitle()));
-        System.out.println("signInData.expectedError = " + data.get(SignInModel.getExpectedError()));
+    public void testGetSignInData(DataRow data) {
+        System.out.println("signInData.testCaseName = " + data.get(SignInModel.TEST_CASE_NAME));
+        System.out.println("signInData.username = " + data.get(SignInModel.EMAIL));
+        System.out.println("signInData.expectedTitle = " + data.get(SignInModel.EXPECTED_TITLE));
+        System.out.println("signInData.expectedError = " + data.get(SignInModel.EXPECTED_ERROR));
 
     }
 
@@ -41,11 +41,9 @@ public final class DataProviderManager {
     }*/
 
     @DataProvider(name = "getSignInDataHashTable", parallel = true)
-    public static Object[][] getSignInData() {
-        ExcelHelpers excelHelpers = new ExcelHelpers();
-        Object[][] data = excelHelpers.getDataHashTable(SystemHelpers.getCurrentDir() + FrameworkConstants.EXCEL_DATA_FILE_PATH, "SignIn", 2, 6);
-        System.out.println("getSignInData: " + data);
-        return data;
+    public static Iterator<Object[]> getSignInData() {
+        return TestDataSources.provider(FrameworkConstants.EXCEL_DATA_FILE_PATH + "#SignIn",
+                DataQuery.all().rows(2, 6).bind(SignInModel.class));
     }
 
     @DataProvider(name = "getClientDataHashTable", parallel = true)
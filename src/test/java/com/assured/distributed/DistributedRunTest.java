@@ -0,0 +1,64 @@
+package com.assured.distributed;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Runs a coordinator in this JVM and two worker JVMs on localhost against Distributed-sample.xml.
+ */
+public class DistributedRunTest {
+
+    private static final String SUITE = "src/test/resources/suites/Distributed-sample.xml";
+    private static final int WORKERS = 2;
+
+    @Test(timeOut = 180000)
+    public void testWorkersShareTheQueueInOneTestNGRunEach() throws Exception {
+        Files.deleteIfExists(SuiteStartRecorder.SUITE_STARTS);
+        List<String> testIds = DistributedCoordinator.collectTestIds(SUITE);
+        DistributedCoordinator coordinator = new DistributedCoordinator(testIds, "127.0.0.1", 0);
+
+        List<Process> workers = new ArrayList<>();
+        for (int i = 1; i <= WORKERS; i++) {
+            workers.add(DistributedCoordinator.startLocalWorker("it-" + i, coordinator.getPort(), SUITE));
+        }
+        try {
+            assertTrue(coordinator.run(), "Every sample test passes");
+            for (Process worker : workers) {
+                assertTrue(worker.waitFor(60, TimeUnit.SECONDS), "Worker JVM exits once the queue is empty");
+                assertEquals(worker.exitValue(), 0);
+            }
+        } finally {
+            workers.forEach(Process::destroyForcibly);
+        }
+
+        // Every test ran exactly once, whichever worker leased it, with all its data-provider rows.
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> results = new HashMap<>();
+        for (String line : Files.readAllLines(DistributedCoordinator.RESULTS_FILE, StandardCharsets.UTF_8)) {
+            JsonNode result = mapper.readTree(line);
+            assertEquals(results.put(result.get("testId").asText(), result), null, "Reported twice: " + line);
+        }
+        assertEquals(results.keySet(), new HashSet<>(testIds));
+        JsonNode withRows = results.get(DistributedProtocol.testId("Distributed Sample",
+                DistributedSampleTest.class.getName(), "withRows"));
+        assertEquals(withRows.get("passed").asInt(), 3);
+
+        // One TestNG run, so one suite start, per worker JVM.
+        List<String> suiteStarts = Files.readAllLines(SuiteStartRecorder.SUITE_STARTS, StandardCharsets.UTF_8);
+        assertEquals(suiteStarts.size(), WORKERS, "Suite starts: " + suiteStarts);
+        assertEquals(new HashSet<>(suiteStarts).size(), WORKERS, "Suite starts: " + suiteStarts);
+    }
+}
@@ -0,0 +1,35 @@
+package com.assured.distributed;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Browserless tests served to the worker JVMs of DistributedRunTest (suite Distributed-sample.xml).
+ */
+public class DistributedSampleTest {
+
+    @DataProvider(name = "rows")
+    public Object[][] rows() {
+        return new Object[][]{{1}, {2}, {3}};
+    }
+
+    @Test
+    public void first() throws InterruptedException {
+        Thread.sleep(300);
+    }
+
+    @Test
+    public void second() throws InterruptedException {
+        Thread.sleep(200);
+    }
+
+    @Test
+    public void third() throws InterruptedException {
+        Thread.sleep(100);
+    }
+
+    @Test(dataProvider = "rows")
+    public void withRows(int row) throws InterruptedException {
+        Thread.sleep(100L * row);
+    }
+}
@@ -0,0 +1,32 @@
+package com.assured.distributed;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends the JVM name to a file every time a suite starts, so DistributedRunTest can count the TestNG runs per worker.
+ */
+public class SuiteStartRecorder implements ISuiteListener {
+
+    static final Path SUITE_STARTS = Paths.get(System.getProperty("user.dir"), "target", "distributed", "suite-starts.txt");
+
+    @Override
+    public void onStart(ISuite suite) {
+        try {
+            Files.createDirectories(SUITE_STARTS.getParent());
+            Files.writeString(SUITE_STARTS, ManagementFactory.getRuntimeMXBean().getName() + System.lineSeparator(),
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
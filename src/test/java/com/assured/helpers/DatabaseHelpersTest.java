@@ -0,0 +1,235 @@
+package com.assured.helpers;
+
+import com.assured.constants.FrameworkConstants;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Runs ConnectionPool and the DatabaseHelpers fixtures against an in-memory H2 database:
+ * DB_URL in config.properties points the configured pool at {@code jdbc:h2:mem:fixtures}.
+ */
+public class DatabaseHelpersTest {
+
+    private static final String TABLE = "pool_fixture";
+    private static final int BATCH_SIZE = Integer.parseInt(FrameworkConstants.DB_BATCH_SIZE.trim());
+
+    @BeforeClass
+    public void createTable() throws SQLException {
+        try (Connection connection = DatabaseHelpers.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + TABLE + " (id INT PRIMARY KEY, name VARCHAR(64))");
+        }
+    }
+
+    @BeforeMethod
+    public void emptyTable() throws SQLException {
+        try (Connection connection = DatabaseHelpers.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM " + TABLE);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void dropTable() throws SQLException {
+        try (Connection connection = DatabaseHelpers.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+        } finally {
+            DatabaseHelpers.closePool();
+        }
+    }
+
+    @Test
+    public void testNestedLeasesShareOneConnection() throws SQLException {
+        ConnectionPool pool = new ConnectionPool("jdbc:h2:mem:nested;DB_CLOSE_DELAY=-1", "sa", "", 2, 10, 1000);
+        try {
+            Connection outer = pool.getConnection();
+            Connection inner = pool.getConnection();
+            assertSame(inner, outer, "Nested lease on the same thread");
+
+            inner.close();
+            assertFalse(outer.isClosed(), "Still held by the outer lease");
+            assertEquals(pool.getIdleCount(), 0);
+
+            Connection physical = outer.unwrap(Connection.class);
+            PreparedStatement stale = outer.prepareStatement("SELECT 1");
+            outer.close();
+            assertTrue(outer.isClosed());
+            assertEquals(pool.getIdleCount(), 1, "Returned once the last holder closed it");
+            expectThrows(SQLException.class, outer::createStatement);
+
+            try (Connection next = pool.getConnection()) {
+                assertSame(next.unwrap(Connection.class), physical, "The idle connection is reused");
+                assertNotSame(next, outer, "Each lease has its own Connection");
+                // References kept from the previous lease must not run in the new lease's transaction
+                assertTrue(outer.isClosed());
+                expectThrows(SQLException.class, outer::createStatement);
+                expectThrows(SQLException.class, stale::executeQuery);
+                outer.close();
+                assertFalse(next.isClosed(), "Closing a stale reference does not return the new lease");
+            }
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test(timeOut = 10000)
+    public void testLeaseWaitsForAFreeConnection() throws Exception {
+        ConnectionPool pool = new ConnectionPool("jdbc:h2:mem:single;DB_CLOSE_DELAY=-1", "sa", "", 1, 10, 200);
+        CountDownLatch leased = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+                try (Connection ignored = pool.getConnection()) {
+                    leased.countDown();
+                    release.await();
+                } catch (SQLException | InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assertTrue(leased.await(5, TimeUnit.SECONDS));
+            expectThrows(SQLException.class, pool::getConnection);
+
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+            try (Connection connection = pool.getConnection()) {
+                assertFalse(connection.isClosed());
+            }
+        } finally {
+            release.countDown();
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testReleaseRollsBackAnOpenTransaction() throws SQLException {
+        try (Connection connection = DatabaseHelpers.getConnection();
+             Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            statement.executeUpdate("INSERT INTO " + TABLE + " (id, name) VALUES (1, 'left open')");
+        }
+        assertEquals(countRows(), 0);
+        try (Connection connection = DatabaseHelpers.getConnection()) {
+            assertTrue(connection.getAutoCommit(), "The next lease starts in auto-commit");
+        }
+    }
+
+    @Test
+    public void testInTransactionCommits() throws SQLException {
+        int inserted = DatabaseHelpers.inTransaction(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                return statement.executeUpdate("INSERT INTO " + TABLE + " (id, name) VALUES (1, 'committed')");
+            }
+        });
+        assertEquals(inserted, 1);
+        assertEquals(countRows(), 1);
+    }
+
+    @Test
+    public void testInTransactionRollsBackOnException() throws SQLException {
+        IllegalStateException thrown = expectThrows(IllegalStateException.class, () ->
+                DatabaseHelpers.inTransaction(connection -> {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.executeUpdate("INSERT INTO " + TABLE + " (id, name) VALUES (1, 'rolled back')");
+                    }
+                    throw new IllegalStateException("fixture failed");
+                }));
+        assertEquals(thrown.getMessage(), "fixture failed");
+        assertEquals(countRows(), 0);
+        assertTrue(DatabaseHelpers.getDataSource().getIdleCount() > 0, "The connection went back to the pool");
+    }
+
+    @Test
+    public void testNestedTransactionJoinsTheOuterOne() throws SQLException {
+        expectThrows(IllegalStateException.class, () ->
+                DatabaseHelpers.inTransaction(outer -> {
+                    DatabaseHelpers.seed(TABLE, Arrays.asList("id", "name"), rows(0, 3));
+                    // The inner work shares the connection, so it sees the rows the outer work has not committed yet
+                    assertEquals(DatabaseHelpers.inTransaction(inner -> {
+                        assertSame(inner, outer);
+                        return countRows(inner);
+                    }), 3);
+                    throw new IllegalStateException("outer work failed");
+                }));
+        assertEquals(countRows(), 0, "The nested seed is rolled back with the outer transaction");
+    }
+
+    @Test
+    public void testExecuteBatchRunsEveryChunk() throws SQLException {
+        for (int size : new int[]{BATCH_SIZE - 1, BATCH_SIZE, BATCH_SIZE + 1, 2 * BATCH_SIZE + 1}) {
+            emptyTable();
+            assertEquals(DatabaseHelpers.executeBatch("INSERT INTO " + TABLE + " (id, name) VALUES (?, ?)", rows(0, size)),
+                    size, "Rows inserted in batches of " + BATCH_SIZE);
+            assertEquals(countRows(), size);
+        }
+    }
+
+    @Test
+    public void testFailingChunkRollsBackTheWholeBatch() throws SQLException {
+        // The duplicate key is the first row of the second chunk: the first chunk has already been executed
+        List<Object[]> rows = rows(0, 2 * BATCH_SIZE);
+        rows.set(BATCH_SIZE, new Object[]{0, "duplicate"});
+        expectThrows(SQLException.class, () ->
+                DatabaseHelpers.executeBatch("INSERT INTO " + TABLE + " (id, name) VALUES (?, ?)", rows));
+        assertEquals(countRows(), 0);
+    }
+
+    @Test
+    public void testSeedAndPurge() throws SQLException {
+        assertEquals(DatabaseHelpers.seed(TABLE, Arrays.asList("id", "name"), rows(0, BATCH_SIZE + 10)), BATCH_SIZE + 10);
+
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 0; id < BATCH_SIZE + 10; id += 2) {
+            ids.add(id);
+        }
+        ids.add(-1);
+        assertEquals(DatabaseHelpers.purge(TABLE, "id", ids), ids.size() - 1, "Only existing rows are counted");
+        assertEquals(countRows(), BATCH_SIZE + 10 - (ids.size() - 1));
+
+        expectThrows(IllegalArgumentException.class, () -> DatabaseHelpers.purge(TABLE + "; DROP TABLE x", "id", ids));
+        expectThrows(IllegalArgumentException.class, () -> DatabaseHelpers.seed(TABLE, Arrays.asList("id", "name)"), rows(0, 1)));
+    }
+
+    private static List<Object[]> rows(int firstId, int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int id = firstId; id < firstId + count; id++) {
+            rows.add(new Object[]{id, "provider " + id});
+        }
+        return rows;
+    }
+
+    private static int countRows() throws SQLException {
+        try (Connection connection = DatabaseHelpers.getConnection()) {
+            return countRows(connection);
+        }
+    }
+
+    private static int countRows(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + TABLE)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
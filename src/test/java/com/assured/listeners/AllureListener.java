@@ -1,12 +1,16 @@
 package com.assured.listeners;
 
 import com.assured.driver.PlaywrightDriverManager;
+import com.assured.report.AllureManager;
+import com.assured.utils.LogUtils;
 import io.qameta.allure.Allure;
 import io.qameta.allure.listener.TestLifecycleListener;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.TestResult;
 import com.microsoft.playwright.Page;
 import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static com.assured.constants.FrameworkConstants.*;
 
@@ -64,8 +68,13 @@ public class AllureListener implements TestLifecycleListener {
                 e.printStackTrace();
             }
         }
-        // Optionally, attach video if available:
-        // AllureManager.addAttachmentVideoMP4();
+        // Videos of failed tests are attached by BaseTest once their context is closed.
+        if (result.getStatus() == Status.FAILED || result.getStatus() == Status.BROKEN) {
+            Path log = LogUtils.getTestLogFile();
+            if (log != null && Files.exists(log)) {
+                AllureManager.addAttachmentLog(log);
+            }
+        }
     }
 
     // You can keep afterTestStop if needed (or remove if empty).
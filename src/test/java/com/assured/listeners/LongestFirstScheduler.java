@@ -0,0 +1,189 @@
+package com.assured.listeners;
+
+import com.assured.constants.FrameworkConstants;
+import com.assured.helpers.TestHistoryHelpers;
+import com.assured.report.ExtentReportManager;
+import com.assured.utils.LogUtils;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.assured.constants.FrameworkConstants.YES;
+
+/**
+ * LongestFirstScheduler orders test methods and data-provider rows by their historical duration,
+ * longest first (LPT), so that a long test never starts last and dictates the wall-clock time.
+ * Durations are recorded after every test and kept in TestHistoryHelpers; predicted and actual
+ * makespan of every &lt;test&gt; are written to the log and the Extent report.
+ */
+public class LongestFirstScheduler implements IMethodInterceptor, IDataProviderInterceptor, ITestListener {
+
+    private static final Map<String, Long> predictedMakespan = new ConcurrentHashMap<>();
+
+    /**
+     * Builds the history key of a test invocation: the qualified method name, plus a hash of the
+     * parameters for data-provider rows. The hash is content based, so it is stable when rows are reordered.
+     */
+    public static String getTestId(ITestNGMethod method, Object[] parameters) {
+        if (parameters == null || parameters.length == 0) {
+            return method.getQualifiedName();
+        }
+        return method.getQualifiedName() + "[" + Integer.toHexString(Arrays.deepHashCode(parameters)) + "]";
+    }
+
+    public static String getTestId(ITestResult result) {
+        return getTestId(result.getMethod(), result.getParameters());
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        int workers = getWorkerCount(context);
+        long fallback = getAverageKnownDuration();
+
+        List<Long> originalOrder = new ArrayList<>();
+        Map<IMethodInstance, Long> weights = new IdentityHashMap<>();
+        for (IMethodInstance instance : methods) {
+            long weight = getExpectedDuration(instance.getMethod(), fallback);
+            weights.put(instance, weight);
+            originalOrder.add(weight);
+        }
+
+        if (!YES.equalsIgnoreCase(FrameworkConstants.SCHEDULE_LONGEST_FIRST)) {
+            predictedMakespan.put(context.getName(), simulateMakespan(originalOrder, workers));
+            return methods;
+        }
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.comparingLong((IMethodInstance m) -> weights.get(m)).reversed());
+
+        List<Long> scheduledOrder = new ArrayList<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            // TestNG sorts free methods by priority before dispatching them to the pool,
+            // so the LPT order is written back as priority to survive parallel execution.
+            ordered.get(i).getMethod().setPriority(i);
+            scheduledOrder.add(weights.get(ordered.get(i)));
+        }
+
+        long before = simulateMakespan(originalOrder, workers);
+        long after = simulateMakespan(scheduledOrder, workers);
+        predictedMakespan.put(context.getName(), after);
+        LogUtils.info("Longest-first schedule for '" + context.getName() + "' on " + workers + " worker(s): "
+                + ordered.size() + " methods, predicted makespan " + after + " ms (declared order: " + before + " ms)");
+        return ordered;
+    }
+
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext iTestContext) {
+        if (!YES.equalsIgnoreCase(FrameworkConstants.SCHEDULE_LONGEST_FIRST)) {
+            return original;
+        }
+        // Sorting needs every row: a streamed (Iterator) data provider is materialised here.
+        List<Object[]> rows = new ArrayList<>();
+        original.forEachRemaining(rows::add);
+        // Unknown rows first: they have no history yet, and running them early bounds the damage if they are slow.
+        rows.sort(Comparator.comparingLong((Object[] row) -> {
+            long expected = TestHistoryHelpers.getExpectedDuration(getTestId(method, row));
+            return expected < 0 ? Long.MAX_VALUE : expected;
+        }).reversed());
+        return rows.iterator();
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        if (context.getPassedTests().size() + context.getFailedTests().size() + context.getSkippedTests().size() == 0) {
+            // Nothing to report, e.g. a distributed worker slot left once the queue was empty.
+            return;
+        }
+        long actual = context.getEndDate().getTime() - context.getStartDate().getTime();
+        Long predicted = predictedMakespan.get(context.getName());
+        ExtentReportManager.setSystemInfo("Makespan [" + context.getName() + "]",
+                "predicted " + (predicted == null ? "n/a" : predicted + " ms") + " / actual " + actual + " ms");
+        TestHistoryHelpers.save();
+    }
+
+    private static void record(ITestResult result) {
+        TestHistoryHelpers.recordDuration(getTestId(result), result.getEndMillis() - result.getStartMillis());
+    }
+
+    /**
+     * Expected duration of a method: its own history, or the sum of its data-provider rows.
+     */
+    private static long getExpectedDuration(ITestNGMethod method, long fallback) {
+        long expected = TestHistoryHelpers.getExpectedDuration(method.getQualifiedName());
+        if (expected >= 0) {
+            return expected;
+        }
+        String rowPrefix = method.getQualifiedName() + "[";
+        long rows = 0;
+        boolean found = false;
+        for (Map.Entry<String, TestHistoryHelpers.TestHistoryEntry> entry : TestHistoryHelpers.getHistory().entrySet()) {
+            if (entry.getKey().startsWith(rowPrefix)) {
+                rows += Math.round(entry.getValue().getAverageDurationMillis());
+                found = true;
+            }
+        }
+        return found ? rows : fallback;
+    }
+
+    private static long getAverageKnownDuration() {
+        Map<String, TestHistoryHelpers.TestHistoryEntry> history = TestHistoryHelpers.getHistory();
+        if (history.isEmpty()) {
+            return 0;
+        }
+        double total = 0;
+        for (TestHistoryHelpers.TestHistoryEntry entry : history.values()) {
+            total += entry.getAverageDurationMillis();
+        }
+        return Math.round(total / history.size());
+    }
+
+    private static int getWorkerCount(ITestContext context) {
+        if (!context.getCurrentXmlTest().getParallel().isParallel()) {
+            return 1;
+        }
+        return Math.max(1, context.getCurrentXmlTest().getThreadCount());
+    }
+
+    /**
+     * Greedy list scheduling: every job goes to the worker that becomes free first.
+     */
+    private static long simulateMakespan(List<Long> durations, int workers) {
+        PriorityQueue<Long> loads = new PriorityQueue<>();
+        for (int i = 0; i < workers; i++) {
+            loads.add(0L);
+        }
+        long makespan = 0;
+        for (long duration : durations) {
+            long load = loads.poll() + duration;
+            makespan = Math.max(makespan, load);
+            loads.add(load);
+        }
+        return makespan;
+    }
+}
@@ -0,0 +1,268 @@
+package com.assured.listeners;
+
+import com.assured.constants.FrameworkConstants;
+import com.assured.distributed.DistributedProtocol;
+import com.assured.helpers.TestHistoryHelpers;
+import com.assured.report.ExtentReportManager;
+import com.assured.utils.LogUtils;
+import com.google.common.collect.Iterators;
+import io.qameta.allure.Allure;
+import org.testng.IAlterSuiteListener;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.assured.constants.FrameworkConstants.*;
+
+/**
+ * QuarantineListener keeps the flakiness history of every test and runs the quarantine lane.
+ * Quarantine is decided per test id (LongestFirstScheduler.getTestId): a flaky data-provider row is quarantined,
+ * the stable rows of the same method are not.
+ * <p>
+ * Before the run, every &lt;test&gt; with flaky tests gets a "[quarantine]" twin that runs in parallel with it,
+ * in its own thread pool: flaky methods move to the twin, and flaky rows are filtered out of the main &lt;test&gt;
+ * and into the twin by the data-provider interceptor. Failures of quarantined tests are turned into skips so they
+ * do not fail the run. Scores and quarantine status are shown in Extent (QUARANTINE category) and Allure
+ * (tag and flakiness labels).
+ * </p>
+ */
+public class QuarantineListener implements IAlterSuiteListener, IDataProviderInterceptor, IInvokedMethodListener, ITestListener {
+
+    private static final String ATTRIBUTE_QUARANTINED_FAILURE = "quarantinedFailure";
+    private static final String LANE_SUFFIX = " [quarantine]";
+
+    // Test ids with an attempt that was retried in this run, to detect a pass on retry.
+    private static final Set<String> retriedTests = ConcurrentHashMap.newKeySet();
+    private static final Set<String> quarantinedTests = ConcurrentHashMap.newKeySet();
+    private static final LongAdder quarantinedFailures = new LongAdder();
+    // Names of the <test>s that have a quarantine lane: their flaky rows run in the lane.
+    private static final Set<String> testsWithLane = ConcurrentHashMap.newKeySet();
+
+    private static boolean isEnabled() {
+        return YES.equalsIgnoreCase(FrameworkConstants.QUARANTINE_FLAKY_TESTS);
+    }
+
+    /**
+     * @param testId a test id from LongestFirstScheduler.getTestId: a method, or one data-provider row of it.
+     * @return true if this test belongs in the quarantine lane.
+     */
+    public static boolean isFlaky(String testId) {
+        return isEnabled() && TestHistoryHelpers.isFlaky(testId);
+    }
+
+    public static boolean isQuarantined(ITestResult result) {
+        return isFlaky(LongestFirstScheduler.getTestId(result));
+    }
+
+    public static int getQuarantinedTestCount() {
+        return quarantinedTests.size();
+    }
+
+    public static long getQuarantinedFailureCount() {
+        return quarantinedFailures.sum();
+    }
+
+    /**
+     * Adds a quarantine lane next to every &lt;test&gt; with flaky tests, and runs the &lt;test&gt;s of
+     * those suites in parallel so the lane never waits behind the main pool.
+     * Distributed workers lease single methods and keep quarantined tests in line.
+     */
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!isEnabled()) {
+            return;
+        }
+        for (XmlSuite suite : suites) {
+            alter(suite.getChildSuites());
+            if (Boolean.parseBoolean(suite.getParameter(DistributedProtocol.WORKER_PARAMETER))) {
+                continue;
+            }
+            List<XmlTest> lanes = new ArrayList<>();
+            for (XmlTest test : new ArrayList<>(suite.getTests())) {
+                XmlTest lane = createLane(test);
+                if (lane != null) {
+                    lanes.add(lane);
+                }
+            }
+            if (lanes.isEmpty()) {
+                continue;
+            }
+            for (XmlTest test : suite.getTests()) {
+                // The suite switches to parallel tests: each <test> keeps the mode it had.
+                test.setParallel(test.getParallel());
+                test.setThreadCount(test.getThreadCount());
+            }
+            suite.setParallel(XmlSuite.ParallelMode.TESTS);
+            suite.setThreadCount(suite.getTests().size());
+            LogUtils.info("Quarantine lane(s) added to '" + suite.getName() + "': " + lanes.size());
+        }
+    }
+
+    /**
+     * @return the lane of the test, already added to its suite, or null if the test has nothing flaky.
+     */
+    private static XmlTest createLane(XmlTest test) {
+        // class name -> flaky methods; true when the whole method is flaky, false when only some rows are.
+        Map<String, Map<String, Boolean>> flaky = new LinkedHashMap<>();
+        for (String testId : TestHistoryHelpers.getHistory().keySet()) {
+            if (!isFlaky(testId)) {
+                continue;
+            }
+            int row = testId.indexOf('[');
+            String qualifiedName = row < 0 ? testId : testId.substring(0, row);
+            int dot = qualifiedName.lastIndexOf('.');
+            if (dot > 0) {
+                flaky.computeIfAbsent(qualifiedName.substring(0, dot), k -> new LinkedHashMap<>())
+                        .merge(qualifiedName.substring(dot + 1), row < 0, Boolean::logicalOr);
+            }
+        }
+
+        List<XmlClass> laneClasses = new ArrayList<>();
+        for (XmlClass xmlClass : test.getXmlClasses()) {
+            Map<String, Boolean> methods = flaky.get(xmlClass.getName());
+            if (methods == null) {
+                continue;
+            }
+            Set<String> included = new LinkedHashSet<>();
+            xmlClass.getIncludedMethods().forEach(include -> included.add(include.getName()));
+            List<XmlInclude> laneMethods = new ArrayList<>();
+            List<String> excluded = new ArrayList<>(xmlClass.getExcludedMethods());
+            methods.forEach((method, wholeMethod) -> {
+                if (xmlClass.getExcludedMethods().contains(method) || (!included.isEmpty() && !included.contains(method))) {
+                    return;
+                }
+                laneMethods.add(new XmlInclude(method));
+                if (wholeMethod) {
+                    excluded.add(method);
+                }
+            });
+            if (laneMethods.isEmpty()) {
+                continue;
+            }
+            xmlClass.setExcludedMethods(excluded);
+            XmlClass laneClass = new XmlClass(xmlClass.getName(), false);
+            laneClass.setIncludedMethods(laneMethods);
+            laneClasses.add(laneClass);
+        }
+        if (laneClasses.isEmpty()) {
+            return null;
+        }
+
+        XmlTest lane = new XmlTest(test.getSuite());
+        lane.setName(test.getName() + LANE_SUFFIX);
+        lane.setParameters(test.getLocalParameters());
+        lane.setParallel(test.getParallel());
+        lane.setThreadCount(test.getThreadCount());
+        lane.setXmlClasses(laneClasses);
+        testsWithLane.add(test.getName());
+        return lane;
+    }
+
+    private static boolean isLane(ITestContext context) {
+        return context.getName().endsWith(LANE_SUFFIX);
+    }
+
+    /**
+     * @return false if the data-provider row runs in the other lane of its &lt;test&gt;, so not in this context.
+     */
+    public static boolean runsIn(ITestContext context, ITestNGMethod method, Object[] row) {
+        boolean lane = isLane(context);
+        if (!lane && !testsWithLane.contains(context.getName())) {
+            return true;
+        }
+        return isFlaky(LongestFirstScheduler.getTestId(method, row)) == lane;
+    }
+
+    /**
+     * Keeps the flaky rows in the lane and the others in the main &lt;test&gt;. Rows are filtered as they are
+     * read, so a streamed data provider stays streamed.
+     */
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext iTestContext) {
+        if (!isLane(iTestContext) && !testsWithLane.contains(iTestContext.getName())) {
+            return original;
+        }
+        return Iterators.filter(original, row -> runsIn(iTestContext, method, row));
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        String testId = LongestFirstScheduler.getTestId(testResult);
+        String score = String.format(Locale.ROOT, "%.2f", TestHistoryHelpers.getFlakinessScore(testId));
+        Allure.label("flakiness", score);
+        if (isFlaky(testId)) {
+            quarantinedTests.add(testId);
+            Allure.label("tag", GROUP_QUARANTINE);
+            ExtentReportManager.addCategory(CATEGORY_QUARANTINE);
+            ExtentReportManager.info("Quarantined, flakiness score " + score);
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            // Soft assertion failures count as failures of the test, quarantined or not
+            TestListener.checkSoftAssertions(testResult);
+        }
+        if (method.isTestMethod() && testResult.getStatus() == ITestResult.FAILURE && isQuarantined(testResult)) {
+            // Skipped before the retry analyzer sees it: quarantined tests neither block the verdict nor cost retries.
+            testResult.setAttribute(ATTRIBUTE_QUARANTINED_FAILURE, Boolean.TRUE);
+            testResult.setStatus(ITestResult.SKIP);
+            quarantinedFailures.increment();
+            LogUtils.warn("Quarantined test failed, not counted as a failure: " + TestListener.getTestName(testResult));
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        String testId = LongestFirstScheduler.getTestId(result);
+        TestHistoryHelpers.recordOutcome(testId, true, retriedTests.remove(testId));
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        String testId = LongestFirstScheduler.getTestId(result);
+        retriedTests.remove(testId);
+        TestHistoryHelpers.recordOutcome(testId, false, false);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        String testId = LongestFirstScheduler.getTestId(result);
+        if (result.wasRetried()) {
+            retriedTests.add(testId);
+        } else if (result.getAttribute(ATTRIBUTE_QUARANTINED_FAILURE) != null) {
+            retriedTests.remove(testId);
+            TestHistoryHelpers.recordOutcome(testId, false, false);
+        }
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        TestHistoryHelpers.save();
+    }
+}
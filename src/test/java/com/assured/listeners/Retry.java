@@ -1,26 +1,93 @@
 package com.assured.listeners;
 
 import com.assured.constants.FrameworkConstants;
+import com.assured.enums.FailureType;
+import com.assured.metrics.MetricsRegistry;
+import com.assured.report.ExtentReportManager;
+import com.assured.utils.FailureUtils;
+import com.assured.utils.LogUtils;
+import com.aventstack.extentreports.Status;
 import org.testng.IRetryAnalyzer;
 import org.testng.ITestResult;
 
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Retry re-runs a failed test only when its failure is transient (timeouts, closed targets, network errors),
+ * with an exponential back-off between attempts. Assertion failures and unknown errors fail at once.
+ * The time spent on failed attempts and back-off is accumulated as retry cost for the report.
+ */
 public class Retry implements IRetryAnalyzer {
     private int count = 0;
     private static int maxTry = Integer.parseInt(FrameworkConstants.RETRY_TEST_FAIL);
+    private static long backoffMillis = Long.parseLong(FrameworkConstants.RETRY_BACKOFF_MILLIS);
+    private static final long MAX_BACKOFF_MILLIS = 30000;
+
+    private static final LongAdder retries = new LongAdder();
+    private static final LongAdder retryCostMillis = new LongAdder();
 
     @Override
     public boolean retry(ITestResult iTestResult) {
-        if (!iTestResult.isSuccess()) {                      // If test did not succeed
-            if (count < maxTry) {                            // and max retries not reached
-                count++;                                     // increase counter
-                iTestResult.setStatus(ITestResult.FAILURE);  // mark test as failed
-                return true;                                 // retry the test
-            } else {
-                iTestResult.setStatus(ITestResult.FAILURE);  // if max reached, leave as failure
-            }
-        } else {
+        if (iTestResult.isSuccess()) {
             iTestResult.setStatus(ITestResult.SUCCESS);      // if passed, mark as success
+            return false;
+        }
+        FailureType failureType = FailureUtils.classify(iTestResult.getThrowable());
+        iTestResult.setAttribute("failureType", failureType.name());
+        if (failureType != FailureType.TRANSIENT || count >= maxTry) {
+            iTestResult.setStatus(ITestResult.FAILURE);      // not retryable, or max reached: leave as failure
+            return false;
+        }
+
+        count++;
+        long backoff = Math.min(MAX_BACKOFF_MILLIS, backoffMillis << (count - 1));
+        long attemptMillis = iTestResult.getEndMillis() - iTestResult.getStartMillis();
+        String message = "Retry " + count + "/" + maxTry + " after transient failure: " + iTestResult.getThrowable()
+                + " (failed attempt " + attemptMillis + " ms, back-off " + backoff + " ms)";
+        LogUtils.warn(TestListener.getTestName(iTestResult) + " - " + message);
+        ExtentReportManager.logMessage(Status.WARNING, message);
+        try {
+            Thread.sleep(backoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        retries.increment();
+        retryCostMillis.add(attemptMillis + backoff);
+        MetricsRegistry.expect(1);
+        iTestResult.setStatus(ITestResult.FAILURE);
+        return true;
+    }
+
+    /**
+     * Tells whether a failed attempt is going to be retried. @AfterMethod runs before TestNG calls retry()
+     * and marks the result as retried, so teardown code asks here instead of result.wasRetried().
+     */
+    public static boolean willRetry(ITestResult result) {
+        if (result.getStatus() != ITestResult.FAILURE) {
+            return false;
         }
-        return false;
+        IRetryAnalyzer analyzer = result.getMethod().getRetryAnalyzer(result);
+        return analyzer instanceof Retry retry && retry.count < maxTry
+                && FailureUtils.classify(result.getThrowable()) == FailureType.TRANSIENT;
+    }
+
+    /**
+     * @return the number of retries already granted to this invocation: 0 for the first attempt.
+     */
+    public static int getAttempt(ITestResult result) {
+        IRetryAnalyzer analyzer = result.getMethod().getRetryAnalyzer(result);
+        return analyzer instanceof Retry retry ? retry.count : 0;
+    }
+
+    public static long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * @return the wall-clock time lost to flakiness: failed attempts that were retried plus their back-off.
+     */
+    public static long getRetryCostMillis() {
+        return retryCostMillis.sum();
     }
 }
@@ -1,36 +1,50 @@
 package com.assured.listeners;
 
 import com.assured.annotations.FrameworkAnnotation;
+import com.assured.config.ConfigService;
 import com.assured.constants.FrameworkConstants;
+import com.assured.distributed.DistributedProtocol;
 import com.assured.driver.PlaywrightDriverManager;
 import com.assured.enums.AuthorType;
 import com.assured.enums.Browser;
 import com.assured.enums.CategoryType;
+import com.assured.exceptions.FrameworkException;
+import com.assured.fixtures.Fixtures;
 import com.assured.helpers.CaptureHelpers;
+import com.assured.helpers.DatabaseHelpers;
+import com.assured.helpers.ExcelResultWriter;
 import com.assured.helpers.FileHelpers;
-import com.assured.helpers.PropertiesHelpers;
+import com.assured.metrics.MetricsExporter;
+import com.assured.metrics.MetricsRegistry;
+import com.assured.metrics.MetricsServer;
 import com.assured.report.AllureManager;
 import com.assured.report.ExtentReportManager;
 import com.assured.utils.BrowserInfoUtils;
+import com.assured.utils.DataPools;
 import com.assured.utils.LogUtils;
+import com.assured.utils.SecretVault;
+import com.assured.utils.SeededRandom;
 import com.assured.utils.ZipUtils;
 import com.aventstack.extentreports.Status;
 import com.github.automatedowl.tools.AllureEnvironmentWriter;
 import com.google.common.collect.ImmutableMap;
+import org.apache.commons.io.FileUtils;
 import org.testng.*;
+import org.testng.asserts.SoftAssert;
 import org.testng.IInvokedMethodListener;
 import org.testng.IInvokedMethod;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
 
 import static com.assured.constants.FrameworkConstants.*;
 
-public class TestListener implements ITestListener, ISuiteListener, IInvokedMethodListener {
+public class TestListener implements ITestListener, ISuiteListener, IInvokedMethodListener, IClassListener,
+        IDataProviderInterceptor {
 
-    static int count_totalTCs;
-    static int count_passedTCs;
-    static int count_skippedTCs;
-    static int count_failedTCs;
+    private static final String ATTRIBUTE_SOFT_ASSERTIONS_CHECKED = "softAssertionsChecked";
 
     // Convert these helper methods to static so they can be used in static context.
     public static String getTestName(ITestResult result) {
@@ -52,24 +66,82 @@ public class TestListener implements ITestListener, ISuiteListener, IInvokedMeth
 
     @Override
     public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
-        // Optional: Log after each method invocation.
+        if (method.isTestMethod()) {
+            checkSoftAssertions(testResult);
+        }
+    }
+
+    /**
+     * Fails the test with the CONTINUE_ON_FAILURE assertions its test-scoped SoftAssert collected. Called right
+     * after the test method, before @AfterMethod closes the test scope; QuarantineListener calls it first if it runs first.
+     */
+    static void checkSoftAssertions(ITestResult result) {
+        if (result.getAttribute(ATTRIBUTE_SOFT_ASSERTIONS_CHECKED) != null) {
+            return;
+        }
+        result.setAttribute(ATTRIBUTE_SOFT_ASSERTIONS_CHECKED, Boolean.TRUE);
+        SoftAssert softAssert = Fixtures.getIfCreated(SoftAssert.class);
+        if (softAssert == null) {
+            return;
+        }
+        try {
+            softAssert.assertAll();
+        } catch (AssertionError e) {
+            if (result.getThrowable() != null) {
+                result.getThrowable().addSuppressed(e);
+            } else {
+                result.setThrowable(e);
+            }
+            result.setStatus(ITestResult.FAILURE);
+        }
+    }
+
+    @Override
+    public void onAfterClass(ITestClass testClass) {
+        Fixtures.exitClass(testClass.getRealClass());
     }
 
     @Override
     public void onStart(ISuite suite) {
         LogUtils.info("********** RUN STARTED **********");
         LogUtils.info("========= INSTALLING CONFIGURATION DATA =========");
-        PropertiesHelpers.loadAllFiles();
+        if (CONFIG_HOT_RELOAD.trim().equalsIgnoreCase(YES)) {
+            ConfigService.watch();
+        }
+        DataPools.prefill();
+        try {
+            SecretVault.load();
+        } catch (FrameworkException e) {
+            LogUtils.warn(e.getMessage() + " - vault: references will fail.");
+        }
         AllureManager.setAllureEnvironmentInformation();
         ExtentReportManager.initReports();
+        ExtentReportManager.setSystemInfo("Random Seed", String.valueOf(SeededRandom.getRunSeed()));
         LogUtils.info("========= CONFIGURATION DATA INSTALLED =========");
         LogUtils.info("=====> Starting Suite: " + suite.getName());
+        MetricsRegistry.start(countPlainInvocations(suite));
+        if (METRICS_SERVER.trim().equalsIgnoreCase(YES)) {
+            MetricsServer.start(Integer.parseInt(METRICS_PORT.trim()));
+        }
     }
 
     @Override
     public void onFinish(ISuite suite) {
         LogUtils.info("********** RUN FINISHED **********");
         LogUtils.info("=====> Ending Suite: " + suite.getName());
+        ExtentReportManager.setSystemInfo("Retries", Retry.getRetryCount() + " (" + Retry.getRetryCostMillis() + " ms lost to flakiness)");
+        ExtentReportManager.setSystemInfo("Quarantine", QuarantineListener.getQuarantinedTestCount() + " test(s), "
+                + QuarantineListener.getQuarantinedFailureCount() + " failure(s) not counted");
+        Fixtures.closeAll();
+        ExcelResultWriter.close();
+        ConfigService.stopWatching();
+        ConfigService.flush();
+        DatabaseHelpers.closePool();
+        SecretVault.close();
+        MetricsServer.stop();
+        MetricsExporter.export(METRICS_EXPORT_PATH);
+        ExtentReportManager.setSystemInfo("Video Disk Usage", getVideoDiskUsage());
+        ExtentReportManager.setSystemInfo("Throughput", MetricsRegistry.snapshot().get("progress").toString());
         ExtentReportManager.flushReports();
         ZipUtils.zipReportFolder();
 
@@ -82,10 +154,16 @@ public class TestListener implements ITestListener, ISuiteListener, IInvokedMeth
                         .put("Local Browser", String.valueOf(Browser.CHROME))
                         .put("Remote URL", FrameworkConstants.REMOTE_URL)
                         .put("Remote Port", FrameworkConstants.REMOTE_PORT)
-                        .put("TCs Total", String.valueOf(count_totalTCs))
-                        .put("TCs Passed", String.valueOf(count_passedTCs))
-                        .put("TCs Skipped", String.valueOf(count_skippedTCs))
-                        .put("TCs Failed", String.valueOf(count_failedTCs))
+                        .put("TCs Total", String.valueOf(MetricsRegistry.count(MetricsRegistry.TESTS_STARTED)))
+                        .put("TCs Passed", String.valueOf(MetricsRegistry.count(MetricsRegistry.TESTS_PASSED)))
+                        .put("TCs Skipped", String.valueOf(MetricsRegistry.count(MetricsRegistry.TESTS_SKIPPED)))
+                        .put("TCs Failed", String.valueOf(MetricsRegistry.count(MetricsRegistry.TESTS_FAILED)))
+                        .put("Retries", String.valueOf(Retry.getRetryCount()))
+                        .put("Retry Cost (ms)", String.valueOf(Retry.getRetryCostMillis()))
+                        .put("Quarantined Tests", String.valueOf(QuarantineListener.getQuarantinedTestCount()))
+                        .put("Quarantined Failures", String.valueOf(QuarantineListener.getQuarantinedFailureCount()))
+                        .put("Video Disk Usage", getVideoDiskUsage())
+                        .put("Random Seed", String.valueOf(SeededRandom.getRunSeed()))
                         .build()
         );
 
@@ -95,6 +173,75 @@ public class TestListener implements ITestListener, ISuiteListener, IInvokedMeth
                 "target/allure-results/executor.json");
     }
 
+    /**
+     * Invocations of the methods without data provider. Rows are counted as they are read (intercept) and retries
+     * when they are queued (Retry); distributed workers count the tests they lease.
+     */
+    private static long countPlainInvocations(ISuite suite) {
+        if (Boolean.parseBoolean(suite.getParameter(DistributedProtocol.WORKER_PARAMETER))) {
+            return 0;
+        }
+        long invocations = 0;
+        for (ITestNGMethod method : suite.getAllMethods()) {
+            if (!method.isDataDriven()) {
+                invocations += Math.max(1, method.getInvocationCount());
+            }
+        }
+        return invocations;
+    }
+
+    /**
+     * Counts every data-provider row that will run in this context as an expected test.
+     */
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext iTestContext) {
+        return new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return original.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                Object[] row = original.next();
+                // Rows of the other quarantine lane are filtered out and counted by that lane
+                if (QuarantineListener.runsIn(iTestContext, method, row)) {
+                    MetricsRegistry.expect(1);
+                }
+                return row;
+            }
+        };
+    }
+
+    /**
+     * Adds the per-test log to the Extent test. The file stays open until the next test of the thread starts,
+     * so the teardown logs still reach it; AllureListener attaches the same file to Allure.
+     */
+    private static void addTestLog() {
+        Path log = LogUtils.getTestLogFile();
+        if (log != null && Files.exists(log)) {
+            ExtentReportManager.addLogFile(log);
+        }
+    }
+
+    private static void discardTestLog() {
+        Path log = LogUtils.stopTestLog();
+        if (log != null) {
+            try {
+                Files.deleteIfExists(log);
+            } catch (IOException e) {
+                LogUtils.warn("Cannot delete test log " + log + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static String getVideoDiskUsage() {
+        return MetricsRegistry.count(MetricsRegistry.VIDEO_KEPT) + " video(s) kept, "
+                + FileUtils.byteCountToDisplaySize(MetricsRegistry.count(MetricsRegistry.VIDEO_KEPT_BYTES)) + " on disk, "
+                + FileUtils.byteCountToDisplaySize(MetricsRegistry.count(MetricsRegistry.VIDEO_DISCARDED_BYTES)) + " discarded";
+    }
+
     public static AuthorType[] getAuthorType(ITestResult result) {
         if (result.getMethod().getConstructorOrMethod().getMethod().getAnnotation(FrameworkAnnotation.class) == null) {
             return null;
@@ -111,8 +258,13 @@ public class TestListener implements ITestListener, ISuiteListener, IInvokedMeth
 
     @Override
     public void onTestStart(ITestResult result) {
+        LogUtils.startTestLog(getTestName(result).replaceAll("[^A-Za-z0-9_-]", "_") + "_" + System.nanoTime());
         LogUtils.info("Test case: " + getTestName(result) + " is starting...");
-        count_totalTCs++;
+        // Seeded from the row content, not its index: scheduling and the quarantine lane reorder rows between runs.
+        // A retry gets its own stream: it must not recreate the names, emails and NPIs the failed attempt used.
+        int attempt = Retry.getAttempt(result);
+        SeededRandom.startTest(LongestFirstScheduler.getTestId(result) + (attempt > 0 ? "#retry" + attempt : ""));
+        MetricsRegistry.increment(MetricsRegistry.TESTS_STARTED);
         ExtentReportManager.createTest(result.getName());
         ExtentReportManager.addAuthors(getAuthorType(result));
         ExtentReportManager.addCategories(getCategoryType(result));
@@ -123,34 +275,46 @@ public class TestListener implements ITestListener, ISuiteListener, IInvokedMeth
     @Override
     public void onTestSuccess(ITestResult result) {
         LogUtils.info("Test case: " + getTestName(result) + " passed.");
-        count_passedTCs++;
+        MetricsRegistry.increment(MetricsRegistry.TESTS_PASSED);
         if (SCREENSHOT_PASSED_TCS.equals(YES)) {
             CaptureHelpers.captureScreenshot(PlaywrightDriverManager.getPage(), getTestName(result));
             ExtentReportManager.addScreenShot(Status.PASS, getTestName(result));
         }
         ExtentReportManager.logMessage(Status.PASS, "Test case: " + getTestName(result) + " passed.");
+        discardTestLog();
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
         LogUtils.error("FAILED: Test case " + getTestName(result) + " failed.");
-        LogUtils.error(result.getThrowable());
-        count_failedTCs++;
+        LogUtils.error("Failure of " + getTestName(result), result.getThrowable());
+        MetricsRegistry.increment(MetricsRegistry.TESTS_FAILED);
         if (SCREENSHOT_FAILED_TCS.equals(YES)) {
             CaptureHelpers.captureScreenshot(PlaywrightDriverManager.getPage(), getTestName(result));
             ExtentReportManager.addScreenShot(Status.FAIL, getTestName(result));
         }
         ExtentReportManager.logMessage(Status.FAIL, result.getThrowable().toString());
+        addTestLog();
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
         LogUtils.warn("WARNING: Test case: " + getTestName(result) + " is skipped.");
-        count_skippedTCs++;
+        MetricsRegistry.increment(MetricsRegistry.TESTS_SKIPPED);
+        if (result.wasRetried()) {
+            // Attempts superseded by a retry are dropped when shard reports are merged.
+            ExtentReportManager.addCategory(CATEGORY_RETRIED);
+        }
         if (SCREENSHOT_SKIPPED_TCS.equals(YES)) {
             CaptureHelpers.captureScreenshot(PlaywrightDriverManager.getPage(), getTestName(result));
         }
         ExtentReportManager.logMessage(Status.SKIP, "Test case: " + getTestName(result) + " is skipped.");
+        if (result.getThrowable() != null) {
+            // Retried attempts and quarantined failures.
+            addTestLog();
+        } else {
+            discardTestLog();
+        }
     }
 
     @Override
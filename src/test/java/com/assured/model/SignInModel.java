@@ -1,5 +1,6 @@
 package com.assured.model;
 
+import com.assured.data.ColumnKey;
 import lombok.Data;
 import lombok.Getter;
 
@@ -25,6 +26,14 @@ public class SignInModel {
 
     public static String expectedUrl = "EXPECTED_URL";
 
+    //Typed column keys for DataRow, bound to the sheet header once per data provider
+    public static final ColumnKey TEST_CASE_NAME = ColumnKey.of(testCaseName);
+    public static final ColumnKey EMAIL = ColumnKey.of(email);
+    public static final ColumnKey PASSWORD = ColumnKey.of(password);
+    public static final ColumnKey EXPECTED_TITLE = ColumnKey.of(expectedTitle);
+    public static final ColumnKey EXPECTED_ERROR = ColumnKey.of(expectedError);
+    public static final ColumnKey EXPECTED_URL = ColumnKey.of(expectedUrl);
+
     public static int getRow() {
         return row;
     }
@@ -1,14 +1,12 @@
 package com.assured.pages;
 
 import com.assured.constants.FrameworkConstants;
-import com.assured.helpers.ExcelHelpers;
+import com.assured.data.DataRow;
 import com.assured.services.PageActions;
 import com.assured.model.SignInModel;
 import com.assured.utils.LogUtils;
 import com.assured.pages.test;
 
-import java.util.Hashtable;
-
 import static com.assured.services.PageActions.*;
 import static java.lang.Thread.sleep;
 
@@ -44,22 +42,15 @@ public class P01_LoginPage extends CommonPageCRM {
     /**
      * Logs in using credentials provided via the Excel file.
      *
-     * @param data a Hashtable containing test data.
+     * @param data a DataRow of the SignIn sheet.
      * @return a new instance of P01_LoginPage (or the next page in the flow).
      */
-    public P01_LoginPage loginWithValidCredentials(Hashtable<String, String> data) {
-        // Prepare Excel helpers to read the test data.
-        ExcelHelpers excelHelpers = new ExcelHelpers();
-        excelHelpers.setExcelFile(FrameworkConstants.EXCEL_DATA_FILE_PATH, "SignIn");
-
+    public P01_LoginPage loginWithValidCredentials(DataRow data) {
         // Navigate to the staging URL.
         navigate(FrameworkConstants.URL_STAGING);
-        String email = data.get(SignInModel.getEmail());
-        String password = data.get(SignInModel.getPassword());
-
-        // Read email and password from the Excel file.
-//       String email = excelHelpers.getCellData(1, SignInModel.getEmail());
-//        String password = excelHelpers.getCellData(1, SignInModel.getPassword());
+        // Email and password come from the data-provider row (read once from the Excel file).
+        String email = data.get(SignInModel.EMAIL);
+        String password = data.get(SignInModel.PASSWORD);
 
         LogUtils.info("Filling in email: " + email);
         PageActions.setText(inputEmailSelector, email);
@@ -2,16 +2,16 @@ package com.assured.tests;
 
 import com.assured.annotations.FrameworkAnnotation;
 import com.assured.common.BaseTest;
+import com.assured.data.DataRow;
 import com.assured.dataprovider.DataProviderManager;
 import com.assured.enums.AuthorType;
 import com.assured.enums.CategoryType;
 import com.assured.pages.P01_LoginPage;
+import com.google.inject.Inject;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
 import org.testng.annotations.Test;
 
-import java.util.Hashtable;
-
 import static java.lang.Thread.sleep;
 
 /**
@@ -21,14 +21,13 @@ import static java.lang.Thread.sleep;
 @Feature("Sign In Test")
 public class T01_LoginTest extends BaseTest {
 
+    @Inject
     private P01_LoginPage loginPage;
 
     @FrameworkAnnotation(author = {AuthorType.Gnanapandithan}, category = {CategoryType.REGRESSION})
     @Test(priority = 1, description = "TC01_signInWithDataProvider",
             dataProvider = "getSignInDataHashTable", dataProviderClass = DataProviderManager.class)
-    public void loginWithValidCredentials(Hashtable<String, String> data) {
-        // Instantiate the login page.
-        loginPage = new P01_LoginPage();
+    public void loginWithValidCredentials(DataRow data) {
         // Perform login with valid credentials.
         loginPage.loginWithValidCredentials(data);
         // Add assertions to verify successful login.
@@ -37,16 +36,13 @@ public class T01_LoginTest extends BaseTest {
     @FrameworkAnnotation(author = {AuthorType.Gnanapandithan}, category = {CategoryType.REGRESSION})
     @Test(priority = 2, description = "TC02_signInWithDataProvider",
             dataProvider = "getSignInDataHashTable", dataProviderClass = DataProviderManager.class)
-    public void loginWithInValidCredentials(Hashtable<String, String> data) {
-        // Instantiate the login page.
-        loginPage = new P01_LoginPage();
+    public void loginWithInValidCredentials(DataRow data) {
         // Perform login with the supplied (invalid) credentials.
         loginPage.loginWithValidCredentials(data);
         // Add assertions to verify behavior for invalid credentials.
     }
     @Test(priority = 3, description = "TC03_urlTest")
     public void urlTest() throws InterruptedException {
-        loginPage = new P01_LoginPage();
         loginPage.login();
         sleep(80000);
 